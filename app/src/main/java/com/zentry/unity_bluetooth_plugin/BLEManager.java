@@ -8,6 +8,8 @@ import android.os.Build;
 import android.util.Log;
 import androidx.core.content.ContextCompat;
 
+import com.zentry.unity_bluetooth_plugin.gatt.GattDatabaseStore;
+
 public class BLEManager {
     private static final String TAG = "BLEManager";
     private static final int DEFAULT_MTU = 23;
@@ -74,6 +76,7 @@ public class BLEManager {
         }
 
         bridge.initialize();
+        GattDatabaseStore.getInstance().preload();
         isInitialized = true;
 
         Log.d(TAG, "BLE Manager initialized successfully (Central: " + asCentral + ", Peripheral: " + asPeripheral + ")");
@@ -0,0 +1,5 @@
+package com.zentry.unity_bluetooth_plugin;
+
+public interface IBLEEventCallback {
+    void onEvent(byte[] event);
+}
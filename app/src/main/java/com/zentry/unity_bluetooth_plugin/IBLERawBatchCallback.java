@@ -0,0 +1,7 @@
+package com.zentry.unity_bluetooth_plugin;
+
+public interface IBLERawBatchCallback {
+    void onDataBatchReceived(int count, String[] addresses, String[] characteristicUUIDs,
+                             int[] addressIndices, int[] characteristicIndices,
+                             long[] timestamps, int[] offsets, int[] lengths, byte[] payload);
+}
@@ -1,20 +1,64 @@
 package com.zentry.unity_bluetooth_plugin;
 
+import android.os.SystemClock;
 import android.util.Log;
 import com.unity3d.player.UnityPlayer;
+import com.zentry.unity_bluetooth_plugin.delivery.NotificationBatcher;
+import com.zentry.unity_bluetooth_plugin.delivery.SharedNotificationBuffer;
+import com.zentry.unity_bluetooth_plugin.models.AdvertisingRecord;
 import com.zentry.unity_bluetooth_plugin.models.BLEMessage;
+import com.zentry.unity_bluetooth_plugin.utils.BinaryEventEncoder;
+import com.zentry.unity_bluetooth_plugin.utils.IdentifierTable;
 import com.zentry.unity_bluetooth_plugin.utils.ThreadHelper;
-import com.zentry.unity_bluetooth_plugin.utils.LegacyMessageConverter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class UnityBLEBridge {
     private static final String TAG = "UnityBLEBridge";
     private static final String UNITY_GAME_OBJECT_NAME = "BluetoothLEReceiver";
     private static final String UNITY_CALLBACK_METHOD = "OnBluetoothMessage";
     private static final boolean USE_BINARY_DIRECT_PATH = true;
+    private static final long DEFAULT_BATCH_FLUSH_INTERVAL_MS = 16;
+
+    public static final int EVENT_MODE_LEGACY_STRING = 0;
+    public static final int EVENT_MODE_BINARY_CALLBACK = 1;
+    public static final int EVENT_MODE_BINARY_SHARED_BUFFER = 2;
 
     private static UnityBLEBridge instance;
     private boolean isInitialized = false;
     private static IBLERawDataCallback rawDataCallback;
+    private static volatile IBLERawBatchCallback rawBatchCallback;
+    private static volatile long batchFlushIntervalNanos = DEFAULT_BATCH_FLUSH_INTERVAL_MS * 1000000L;
+    private static volatile SharedNotificationBuffer sharedBuffer;
+    private static volatile IBLEEventCallback eventCallback;
+    private static volatile int eventMode = EVENT_MODE_LEGACY_STRING;
+    // 공유 버퍼 레코드 헤더의 16비트 필드에 기록되므로 MAX_INDEX 까지만 등록
+    private static final IdentifierTable addressTable = new IdentifierTable(SharedNotificationBuffer.MAX_INDEX + 1);
+    private static final IdentifierTable characteristicTable = new IdentifierTable(SharedNotificationBuffer.MAX_INDEX + 1);
+
+    private final NotificationBatcher batcher = new NotificationBatcher();
+    private volatile long lastBatchFlushNanos = 0;
+
+    // 워커 스레드(스캔/GATT)에서 나온 legacy 메시지는 큐에 모아 메인 스레드 post 한 번으로 순서대로 전달
+    private final ConcurrentLinkedQueue<String> pendingLegacyMessages = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean legacyDrainScheduled = new AtomicBoolean(false);
+
+    private final Runnable legacyDrainRunnable = new Runnable() {
+        @Override
+        public void run() {
+            legacyDrainScheduled.set(false);
+            String legacyMessage;
+            while ((legacyMessage = pendingLegacyMessages.poll()) != null) {
+                try {
+                    UnityPlayer.UnitySendMessage(UNITY_GAME_OBJECT_NAME, UNITY_CALLBACK_METHOD, legacyMessage);
+                } catch (Exception e) {
+                    Log.e(TAG, "Failed to send message to Unity: " + e.getMessage());
+                }
+            }
+        }
+    };
 
     private UnityBLEBridge() {
     }
@@ -40,25 +84,110 @@ public class UnityBLEBridge {
         Log.d(TAG, "Raw data callback registered: " + (callback != null ? "enabled" : "disabled"));
     }
 
+    public static void SetRawBatchCallback(IBLERawBatchCallback callback) {
+        IBLERawBatchCallback previous = rawBatchCallback;
+        if (previous != null && previous != callback) {
+            getInstance().batcher.flushTo(previous);
+        }
+        rawBatchCallback = callback;
+        Log.d(TAG, "Raw batch callback registered: " + (callback != null ? "enabled" : "disabled"));
+    }
+
+    // 0 이하: 자동 flush 없음, Unity 가 매 프레임 FlushDataBatch() 호출
+    public static void SetBatchFlushInterval(int intervalMs) {
+        batchFlushIntervalNanos = Math.max(0, intervalMs) * 1000000L;
+        Log.d(TAG, "Batch flush interval: " + intervalMs + "ms");
+    }
+
+    public static int FlushDataBatch() {
+        return getInstance().flushDataBatch();
+    }
+
+    // Unity 는 반환된 direct ByteBuffer 를 GetDirectBufferAddress 로 한 번 매핑한 뒤 매 프레임 직접 읽음
+    public static ByteBuffer EnableSharedBuffer(int capacityBytes) {
+        SharedNotificationBuffer buffer = new SharedNotificationBuffer(capacityBytes, addressTable, characteristicTable);
+        sharedBuffer = buffer;
+        Log.d(TAG, "Shared buffer enabled: " + buffer.getCapacity() + " bytes");
+        return buffer.getBuffer();
+    }
+
+    public static void DisableSharedBuffer() {
+        sharedBuffer = null;
+        Log.d(TAG, "Shared buffer disabled");
+    }
+
+    public static String[] GetSharedBufferAddresses() {
+        return addressTable.toArray();
+    }
+
+    public static String[] GetSharedBufferCharacteristics() {
+        return characteristicTable.toArray();
+    }
+
+    public static long GetSharedBufferDroppedCount() {
+        SharedNotificationBuffer buffer = sharedBuffer;
+        return buffer != null ? buffer.getDroppedCount() : 0;
+    }
+
+    public static void SetEventCallback(IBLEEventCallback callback) {
+        eventCallback = callback;
+        Log.d(TAG, "Event callback registered: " + (callback != null ? "enabled" : "disabled"));
+    }
+
+    // 0=legacy 문자열(UnitySendMessage), 1=바이너리 TLV 콜백, 2=바이너리 TLV 를 공유 버퍼에 기록
+    public static void SetEventMode(int mode) {
+        if (mode < EVENT_MODE_LEGACY_STRING || mode > EVENT_MODE_BINARY_SHARED_BUFFER) {
+            Log.w(TAG, "Invalid event mode: " + mode);
+            return;
+        }
+        eventMode = mode;
+        Log.d(TAG, "Event mode: " + mode);
+    }
+
     public void sendMessage(BLEMessage message) {
         if (!isInitialized) {
             Log.w(TAG, "Bridge not initialized, message not sent: " + message.toJson());
             return;
         }
 
-        final String jsonMessage = message.toJson();
-        final String legacyMessage = LegacyMessageConverter.convertToLegacyFormat(jsonMessage);
+        if (eventMode != EVENT_MODE_LEGACY_STRING && sendBinaryEvent(message)) {
+            return;
+        }
 
-        ThreadHelper.runOnMainThread(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    UnityPlayer.UnitySendMessage(UNITY_GAME_OBJECT_NAME, UNITY_CALLBACK_METHOD, legacyMessage);
-                } catch (Exception e) {
-                    Log.e(TAG, "Failed to send message to Unity: " + e.getMessage());
-                }
+        pendingLegacyMessages.offer(message.toLegacy());
+        if (legacyDrainScheduled.compareAndSet(false, true)) {
+            ThreadHelper.runOnMainThread(legacyDrainRunnable);
+        }
+    }
+
+    // 바이너리 모드로 전달할 수 없으면 false 를 반환해 legacy 문자열 경로로 fallback
+    private boolean sendBinaryEvent(BLEMessage message) {
+        BinaryEventEncoder encoder = BinaryEventEncoder.get();
+        int length = encoder.encode(message);
+        if (length < 0) {
+            return false;
+        }
+
+        if (eventMode == EVENT_MODE_BINARY_SHARED_BUFFER) {
+            SharedNotificationBuffer buffer = sharedBuffer;
+            if (buffer == null) {
+                return false;
             }
-        });
+            buffer.writeEvent(message.getAddress(), encoder.getBuffer(), length, SystemClock.elapsedRealtimeNanos());
+            return true;
+        }
+
+        IBLEEventCallback callback = eventCallback;
+        if (callback == null) {
+            return false;
+        }
+
+        try {
+            callback.onEvent(encoder.toByteArray(length));
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to send binary event: " + e.getMessage());
+        }
+        return true;
     }
 
     public void sendInitialized() {
@@ -73,6 +202,11 @@ public class UnityBLEBridge {
         sendMessage(BLEMessage.createDeviceDiscovered(address, name, rssi, advertisingData));
     }
 
+    // record 는 호출 스레드가 재사용하므로 동기 인코딩 동안만 참조
+    public void sendDeviceDiscovered(String address, String name, int rssi, byte[] advertisingData, AdvertisingRecord record) {
+        sendMessage(BLEMessage.createDeviceDiscovered(address, name, rssi, advertisingData, record));
+    }
+
     public void sendDeviceConnected(String address) {
         sendMessage(BLEMessage.createDeviceConnected(address));
     }
@@ -81,6 +215,22 @@ public class UnityBLEBridge {
         sendMessage(BLEMessage.createDeviceDisconnected(address));
     }
 
+    public void sendDeviceReconnected(String address, int elapsedMs) {
+        sendMessage(BLEMessage.createDeviceReconnected(address, elapsedMs));
+    }
+
+    public void sendDeviceLost(String address) {
+        sendMessage(BLEMessage.createDeviceLost(address));
+    }
+
+    public void sendServicesReady(String address) {
+        sendMessage(BLEMessage.createServicesReady(address));
+    }
+
+    public void sendGattTable(String address, byte[] table) {
+        sendMessage(BLEMessage.createGattTable(address, table));
+    }
+
     public void sendServiceDiscovered(String address, String serviceUUID) {
         sendMessage(BLEMessage.createServiceDiscovered(address, serviceUUID));
     }
@@ -90,13 +240,54 @@ public class UnityBLEBridge {
     }
 
     public void sendDataReceived(String address, String characteristicUUID, byte[] data) {
-        if (USE_BINARY_DIRECT_PATH && rawDataCallback != null) {
+        sendDataReceived(address, characteristicUUID, data, SystemClock.elapsedRealtimeNanos());
+    }
+
+    public void sendDataReceived(String address, String characteristicUUID, byte[] data, long timestampNanos) {
+        SharedNotificationBuffer buffer = sharedBuffer;
+        if (buffer != null) {
+            buffer.write(address, characteristicUUID, data, timestampNanos);
+        } else if (USE_BINARY_DIRECT_PATH && rawBatchCallback != null) {
+            if (batcher.append(address, characteristicUUID, data, timestampNanos)) {
+                flushDataBatch();
+            }
+        } else if (USE_BINARY_DIRECT_PATH && rawDataCallback != null) {
             rawDataCallback.onDataReceived(address, characteristicUUID, data);
         } else {
             sendMessage(BLEMessage.createDataReceived(address, characteristicUUID, data));
         }
     }
 
+    public int flushDataBatch() {
+        IBLERawBatchCallback callback = rawBatchCallback;
+        lastBatchFlushNanos = SystemClock.elapsedRealtimeNanos();
+        if (callback == null) {
+            return 0;
+        }
+
+        try {
+            return batcher.flushTo(callback);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to flush data batch: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // NotificationDispatcher 소비자 루프에서 호출, 다음 flush 까지 남은 시간(ns) 반환 (쌓인 패킷이 없으면 Long.MAX_VALUE)
+    public long flushDataBatchIfDue() {
+        long interval = batchFlushIntervalNanos;
+        if (rawBatchCallback == null || interval <= 0 || batcher.size() == 0) {
+            return Long.MAX_VALUE;
+        }
+
+        long elapsed = SystemClock.elapsedRealtimeNanos() - lastBatchFlushNanos;
+        if (elapsed >= interval) {
+            flushDataBatch();
+            return Long.MAX_VALUE;
+        }
+        return interval - elapsed;
+    }
+
     public void sendMtuChanged(String address, int mtu) {
         sendMessage(BLEMessage.createMtuChanged(address, mtu));
     }
@@ -108,4 +299,20 @@ public class UnityBLEBridge {
     public void sendRssiRead(String address, int rssi) {
         sendMessage(BLEMessage.createRssiRead(address, rssi));
     }
+
+    public void sendWriteStreamProgress(String address, String characteristicUUID, int bytesSent, int totalBytes, int bytesPerSecond) {
+        sendMessage(BLEMessage.createWriteStreamProgress(address, characteristicUUID, bytesSent, totalBytes, bytesPerSecond));
+    }
+
+    public void sendWriteStreamCompleted(String address, String characteristicUUID, int bytesSent, int totalBytes, int bytesPerSecond, String error) {
+        sendMessage(BLEMessage.createWriteStreamCompleted(address, characteristicUUID, bytesSent, totalBytes, bytesPerSecond, error));
+    }
+
+    public void sendDevicesUpdated(String[] addresses, int[] rssis, byte[][] advertisingData, int count) {
+        sendMessage(BLEMessage.createDevicesUpdated(addresses, rssis, advertisingData, count));
+    }
+
+    public void sendNearestDevicesChanged(String[] addresses, int[] rssis, int count) {
+        sendMessage(BLEMessage.createNearestDevicesChanged(addresses, rssis, count));
+    }
 }
@@ -5,8 +5,18 @@ import android.util.Base64;
 import android.util.Log;
 
 import com.zentry.unity_bluetooth_plugin.connection.BLEConnectionManager;
+import com.zentry.unity_bluetooth_plugin.delivery.FragmentReassembler;
+import com.zentry.unity_bluetooth_plugin.delivery.NotificationDispatcher;
 import com.zentry.unity_bluetooth_plugin.gatt.BLEGattManager;
+import com.zentry.unity_bluetooth_plugin.gatt.HandleRegistry;
+import com.zentry.unity_bluetooth_plugin.scan.AdvertisementFilter;
 import com.zentry.unity_bluetooth_plugin.scan.BLEScanManager;
+import com.zentry.unity_bluetooth_plugin.scan.ScanProfile;
+import com.zentry.unity_bluetooth_plugin.utils.UUIDConverter;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class UnityBLEPlugin {
     private static final String TAG = "UnityBLEPlugin";
@@ -31,14 +41,118 @@ public class UnityBLEPlugin {
         BLEScanManager.ScanForPeripheralsWithServices(serviceUUIDs, clearPeripheralList);
     }
 
+    // preset: 0=FOREGROUND(기본, LOW_LATENCY 30초), 1=BALANCED, 2=BACKGROUND(LOW_POWER + 5초 컨트롤러 배치, 시간 제한 없음)
+    public static void ScanForPeripheralsWithPreset(String[] serviceUUIDs, boolean clearPeripheralList, int preset) {
+        BLEScanManager.ScanForPeripheralsWithProfile(serviceUUIDs, clearPeripheralList, ScanProfile.fromPreset(preset));
+    }
+
+    // 각 값은 android.bluetooth.le.ScanSettings 상수, reportDelayMs 0 이면 즉시 보고, timeoutMs 0 이하면 시간 제한 없음
+    public static void ScanForPeripheralsWithProfile(String[] serviceUUIDs, boolean clearPeripheralList, int scanMode, int callbackType,
+                                                     int matchMode, int numOfMatches, int reportDelayMs, boolean legacy, int phy, int timeoutMs) {
+        ScanProfile profile = new ScanProfile(scanMode, callbackType, matchMode, numOfMatches, reportDelayMs, legacy, phy, timeoutMs);
+        BLEScanManager.ScanForPeripheralsWithProfile(serviceUUIDs, clearPeripheralList, profile);
+    }
+
     public static void StopScan() {
         BLEScanManager.StopScan();
     }
 
+    // 조건 없음: manufacturerId -1, serviceDataUUID null, namePrefix null, minRssi 0 / mask 가 null 이면 data 전체 비교
+    // 필터 하나의 조건은 AND, 여러 필터는 OR. 제조사/서비스 데이터는 컨트롤러에서, 이름 접두사/RSSI 하한은 콜백에서 평가
+    public static boolean AddAdvertisementFilter(int manufacturerId, byte[] manufacturerData, byte[] manufacturerMask,
+                                                 String serviceDataUUID, byte[] serviceData, byte[] serviceDataMask,
+                                                 String namePrefix, int minRssi) {
+        UUID serviceDataUuid = null;
+        if (serviceDataUUID != null && !serviceDataUUID.isEmpty()) {
+            try {
+                serviceDataUuid = UUID.fromString(UUIDConverter.normalize(serviceDataUUID));
+            } catch (IllegalArgumentException e) {
+                Log.e(TAG, "Invalid service data UUID: " + serviceDataUUID);
+                return false;
+            }
+        }
+
+        return BLEScanManager.AddAdvertisementFilter(new AdvertisementFilter(manufacturerId, manufacturerData, manufacturerMask,
+                serviceDataUuid, serviceData, serviceDataMask, namePrefix, minRssi));
+    }
+
+    public static void ClearAdvertisementFilters() {
+        BLEScanManager.ClearAdvertisementFilters();
+    }
+
+    // 발견 디바이스 테이블 크기/만료 (기본 1024개, TTL 없음), 제거된 디바이스는 OnDeviceLost 로 전달
+    public static void SetDeviceTableLimits(int capacity, int ttlMs) {
+        BLEScanManager.SetDeviceTableLimits(capacity, ttlMs);
+    }
+
+    // 발견된 디바이스의 RSSI 가 rssiThreshold(dBm) 이상 변하거나 광고 데이터가 바뀌면 intervalMs 마다 OnDevicesUpdated 로 묶어 전달
+    public static void SetScanUpdateMode(boolean enabled, int intervalMs, int rssiThreshold) {
+        BLEScanManager.SetScanUpdateMode(enabled, intervalMs, rssiThreshold);
+    }
+
+    // 평활 RSSI 기준 가장 가까운 k 개 ("address~rssi", 강한 순)
+    public static String[] GetNearestDevices(int k) {
+        return BLEScanManager.GetNearestDevices(k);
+    }
+
+    // eventCount > 0 이면 상위 eventCount 개의 순위가 바뀔 때 OnNearestDevicesChanged, alpha 는 RSSI 평활 계수 (0, 1]
+    public static void SetNearestDeviceTracking(int eventCount, float alpha) {
+        BLEScanManager.SetNearestDeviceTracking(eventCount, alpha);
+    }
+
+    // 발견 이벤트 광고 데이터: 0=원본, 1=0 패딩 제거(기본), 2=바이너리 이벤트에서 flags/TX power/UUID/제조사·서비스 데이터를 태그로 분리
+    public static void SetDiscoveryPayloadMode(int mode) {
+        BLEScanManager.SetDiscoveryPayloadMode(mode);
+    }
+
     public static void ConnectToPeripheral(String address) {
         BLEConnectionManager.ConnectToPeripheral(address);
     }
 
+    // priority 가 높을수록 먼저 연결 시도
+    public static void ConnectToPeripheralWithPriority(String address, int priority) {
+        BLEConnectionManager.ConnectToPeripheralWithPriority(address, priority);
+    }
+
+    // 동시 연결 시도 수(기본 2)와 시도별 타임아웃(기본 15초)
+    public static void SetConnectionScheduler(int maxConcurrentAttempts, int attemptTimeoutMs) {
+        BLEConnectionManager.SetConnectionScheduler(maxConcurrentAttempts, attemptTimeoutMs);
+    }
+
+    // 0=서비스/특성마다 이벤트(기본), 1=디바이스당 OnGattTable 하나 (서비스/특성/properties/디스크립터, GattDatabase.toCompactBytes 형식)
+    public static void SetDiscoveryEventMode(int mode) {
+        BLEConnectionManager.SetDiscoveryEventMode(mode);
+    }
+
+    // 이전에 연결해 GATT 테이블이 캐시된 디바이스 주소 (스캔 없이 ConnectToPeripheral 가능)
+    public static String[] GetKnownDevices() {
+        return BLEConnectionManager.GetKnownDevices();
+    }
+
+    public static void ConnectToKnownDevices(int priority) {
+        BLEConnectionManager.ConnectToKnownDevices(priority);
+    }
+
+    public static void ForgetKnownDevice(String address) {
+        BLEConnectionManager.ForgetKnownDevice(address);
+    }
+
+    // 기본 활성화: SetDiscoveryEventMode(1) 이면 연결 직후 캐시된 OnGattTable 을 먼저 보내고, 탐색 결과가 다를 때만 다시 보냄
+    // 캐시로 받은 테이블은 OnServicesReady 전까지 잠정 정보 (특성 작업은 OnServicesReady 이후 가능), 탐색 실패 시 빈 테이블로 대체
+    public static void SetGattCacheEnabled(boolean enabled) {
+        BLEConnectionManager.SetGattCacheEnabled(enabled);
+    }
+
+    // sticky 디바이스는 링크가 끊기면 자동 재연결 (policy 0=direct connectGatt, 1=autoConnect 로 기존 gatt 재사용), 완료 시 OnDeviceReconnected
+    public static void SetStickyDevice(String address, boolean sticky, int policy) {
+        BLEConnectionManager.SetStickyDevice(address, sticky, policy);
+    }
+
+    // 연결 후 discoverServices 지연 (기본 600/300/0ms): 일반, 본딩, 서비스를 아는 본딩 디바이스 또는 링크 끊김 5초 이내 sticky 재연결
+    public static void SetDiscoveryDelays(int coldMs, int bondedMs, int warmMs) {
+        BLEConnectionManager.SetDiscoveryDelays(coldMs, bondedMs, warmMs);
+    }
+
     public static void DisconnectPeripheral(String address) {
         BLEConnectionManager.DisconnectPeripheral(address);
     }
@@ -95,6 +209,28 @@ public class UnityBLEPlugin {
         }
     }
 
+    // Base64 없이 byte[] 그대로 전달 (JNI 가 만든 배열을 복사 없이 사용)
+    public static void WriteCharacteristic(String nameOrAddress, String serviceUUID, String characteristicUUID, byte[] data, boolean withResponse) {
+        String address = resolveAddress(nameOrAddress);
+        if (address != null) {
+            BLEGattManager.WriteCharacteristic(address, serviceUUID, characteristicUUID, data, withResponse);
+        }
+    }
+
+    public static void WriteCharacteristic(String nameOrAddress, String serviceUUID, String characteristicUUID, ByteBuffer buffer, int offset, int length, boolean withResponse) {
+        String address = resolveAddress(nameOrAddress);
+        if (address != null) {
+            BLEGattManager.WriteCharacteristic(address, serviceUUID, characteristicUUID, buffer, offset, length, withResponse);
+        }
+    }
+
+    public static void WriteStream(String nameOrAddress, String serviceUUID, String characteristicUUID, byte[] data, boolean withResponse) {
+        String address = resolveAddress(nameOrAddress);
+        if (address != null) {
+            BLEGattManager.WriteStream(address, serviceUUID, characteristicUUID, data, withResponse);
+        }
+    }
+
     public static void RequestMtu(String nameOrAddress, int mtu) {
         String address = resolveAddress(nameOrAddress);
         if (address != null) {
@@ -113,6 +249,12 @@ public class UnityBLEPlugin {
         return BLEConnectionManager.getInstance().isConnected(address);
     }
 
+    // 0=CONNECTING, 1=CONNECTED, 2=DISCOVERING, 3=READY, 4=DISCONNECTING, 5=CLOSED
+    public static int GetConnectionState(String nameOrAddress) {
+        String address = BLEConnectionManager.getInstance().getAddressFromName(nameOrAddress);
+        return BLEConnectionManager.GetConnectionState(address != null ? address : nameOrAddress);
+    }
+
     public static boolean IsScanning() {
         return BLEScanManager.getInstance().isScanning();
     }
@@ -129,4 +271,142 @@ public class UnityBLEPlugin {
             return false;
         }
     }
+
+    // 정수 핸들 API: 연결/탐색 후 한 번 핸들을 받아두고 이후 호출은 주소 해석/UUID 파싱 없이 배열 인덱싱만 수행
+    public static int ConnectToPeripheralWithHandle(String address) {
+        BLEConnectionManager.ConnectToPeripheral(address);
+        return HandleRegistry.getInstance().getDeviceHandle(address);
+    }
+
+    public static int GetDeviceHandle(String nameOrAddress) {
+        String address = resolveAddress(nameOrAddress);
+        if (address == null) {
+            return HandleRegistry.INVALID_HANDLE;
+        }
+        return HandleRegistry.getInstance().getDeviceHandle(address);
+    }
+
+    public static int GetCharacteristicHandle(int deviceHandle, String serviceUUID, String characteristicUUID) {
+        String address = HandleRegistry.getInstance().getAddress(deviceHandle);
+        if (address == null) {
+            return HandleRegistry.INVALID_HANDLE;
+        }
+        return BLEGattManager.GetCharacteristicHandle(address, serviceUUID, characteristicUUID);
+    }
+
+    // 탐색 순서(OnCharacteristicDiscovered 순서)와 같은 순서의 특성 핸들 목록
+    public static int[] GetCharacteristicHandles(int deviceHandle) {
+        String address = HandleRegistry.getInstance().getAddress(deviceHandle);
+        if (address == null) {
+            return new int[0];
+        }
+        return HandleRegistry.getInstance().getCharacteristicHandles(address);
+    }
+
+    public static void DisconnectPeripheralByHandle(int deviceHandle) {
+        String address = HandleRegistry.getInstance().getAddress(deviceHandle);
+        if (address != null) {
+            BLEConnectionManager.DisconnectPeripheral(address);
+        }
+    }
+
+    public static void SubscribeCharacteristicByHandle(int characteristicHandle) {
+        BLEGattManager.SubscribeCharacteristicByHandle(characteristicHandle);
+    }
+
+    public static void UnSubscribeCharacteristicByHandle(int characteristicHandle) {
+        BLEGattManager.UnSubscribeCharacteristicByHandle(characteristicHandle);
+    }
+
+    public static void ReadCharacteristicByHandle(int characteristicHandle) {
+        BLEGattManager.ReadCharacteristicByHandle(characteristicHandle);
+    }
+
+    public static void WriteCharacteristicByHandle(int characteristicHandle, byte[] data, boolean withResponse) {
+        BLEGattManager.WriteCharacteristicByHandle(characteristicHandle, data, withResponse);
+    }
+
+    public static void WriteCharacteristicByHandle(int characteristicHandle, ByteBuffer buffer, int offset, int length, boolean withResponse) {
+        BLEGattManager.WriteCharacteristicByHandle(characteristicHandle, buffer, offset, length, withResponse);
+    }
+
+    public static void WriteStreamByHandle(int characteristicHandle, byte[] data, boolean withResponse) {
+        BLEGattManager.WriteStreamByHandle(characteristicHandle, data, withResponse);
+    }
+
+    public static void RequestMtuByHandle(int deviceHandle, int mtu) {
+        String address = HandleRegistry.getInstance().getAddress(deviceHandle);
+        if (address != null) {
+            BLEGattManager.RequestMtu(address, mtu);
+        }
+    }
+
+    public static void ReadRSSIByHandle(int deviceHandle) {
+        String address = HandleRegistry.getInstance().getAddress(deviceHandle);
+        if (address != null) {
+            BLEGattManager.ReadRSSI(address);
+        }
+    }
+
+    public static boolean SetConnectionPriorityByHandle(int deviceHandle, int priority) {
+        String address = HandleRegistry.getInstance().getAddress(deviceHandle);
+        return address != null && BLEConnectionManager.SetConnectionPriority(address, priority);
+    }
+
+    public static void SetNotificationOverflowPolicy(int policy) {
+        NotificationDispatcher.getInstance().setOverflowPolicy(policy);
+    }
+
+    public static void SetNotificationBufferCapacity(int capacity) {
+        NotificationDispatcher.getInstance().setRingCapacity(capacity);
+    }
+
+    // [enqueued, delivered, droppedOldest, droppedNewest, blocked, queued]
+    public static long[] GetNotificationStats(String nameOrAddress) {
+        String address = resolveAddress(nameOrAddress);
+        if (address == null) {
+            return null;
+        }
+        return NotificationDispatcher.getInstance().getStats(address);
+    }
+
+    // [bufferAllocations, notificationAllocations] - 정상 상태에서는 증가하지 않아야 함
+    public static long[] GetNotificationPoolStats() {
+        return NotificationDispatcher.getInstance().getPoolStats();
+    }
+
+    // 예: 1바이트 헤더(bit7=last, bit0-6=sequence) → (uuid, 1, 0, 0x7F, 0, 0x80, timeoutMs, maxFrameLength)
+    public static void SetFragmentReassembly(String characteristicUUID, int headerLength, int sequenceOffset, int sequenceMask,
+                                             int lastFlagOffset, int lastFlagMask, int timeoutMs, int maxFrameLength) {
+        FragmentReassembler.Layout layout = new FragmentReassembler.Layout(headerLength, sequenceOffset, sequenceMask,
+                lastFlagOffset, lastFlagMask, TimeUnit.MILLISECONDS.toNanos(timeoutMs), maxFrameLength);
+        if (characteristicUUID == null || !layout.isValid()) {
+            Log.e(TAG, "Invalid fragment reassembly layout for: " + characteristicUUID);
+            return;
+        }
+        NotificationDispatcher.getInstance().setReassemblyLayout(UUIDConverter.normalize(characteristicUUID), layout);
+    }
+
+    public static void ClearFragmentReassembly(String characteristicUUID) {
+        if (characteristicUUID != null) {
+            NotificationDispatcher.getInstance().setReassemblyLayout(UUIDConverter.normalize(characteristicUUID), null);
+        }
+    }
+
+    // [frames, fragments, sequenceErrors, timeouts, oversized, malformed]
+    public static long[] GetReassemblyStats(String nameOrAddress) {
+        String address = resolveAddress(nameOrAddress);
+        if (address == null) {
+            return null;
+        }
+        return NotificationDispatcher.getInstance().getReassemblyStats(address);
+    }
+
+    public static long GetNotificationOverflowCount(String nameOrAddress) {
+        String address = resolveAddress(nameOrAddress);
+        if (address == null) {
+            return 0;
+        }
+        return NotificationDispatcher.getInstance().getOverflowCount(address);
+    }
 }
@@ -6,19 +6,23 @@ import android.bluetooth.BluetoothGatt;
 import android.bluetooth.BluetoothGattCallback;
 import android.bluetooth.BluetoothGattCharacteristic;
 import android.bluetooth.BluetoothGattDescriptor;
-import android.bluetooth.BluetoothGattService;
 import android.bluetooth.BluetoothProfile;
 import android.content.Context;
 import android.os.Build;
+import android.os.SystemClock;
 import android.util.Log;
 
 import com.zentry.unity_bluetooth_plugin.BLEManager;
 import com.zentry.unity_bluetooth_plugin.UnityBLEBridge;
+import com.zentry.unity_bluetooth_plugin.delivery.NotificationDispatcher;
+import com.zentry.unity_bluetooth_plugin.gatt.BLEGattManager;
+import com.zentry.unity_bluetooth_plugin.gatt.GattDatabase;
+import com.zentry.unity_bluetooth_plugin.gatt.GattDatabaseStore;
+import com.zentry.unity_bluetooth_plugin.gatt.GattRequest;
 import com.zentry.unity_bluetooth_plugin.utils.ThreadHelper;
+import com.zentry.unity_bluetooth_plugin.utils.UUIDConverter;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -27,18 +31,37 @@ public class BLEConnectionManager {
     private static final String TAG = "BLEConnectionManager";
     private static final int CONNECTION_TIMEOUT_MS = 15000;
     private static final int MAX_RETRY_COUNT = 3;
-    private static final int RETRY_DELAY_MS = 2000;
+
+    // sticky 디바이스의 링크가 끊겼을 때 재연결 방식
+    public static final int RECONNECT_DIRECT = 0;
+    public static final int RECONNECT_AUTO = 1;
+
+    // 연결 후 discoverServices 지연 기본값: 연결 직후 connection parameter 갱신과 겹치지 않도록 기다림
+    // 본딩된 링크는 암호화만 기다리고, 서비스를 이미 아는 본딩 디바이스 또는 링크가 끊긴 직후의 sticky 재연결은 스택 캐시로 바로 완료
+    private static final int DISCOVERY_DELAY_MS = 600;
+    private static final int DISCOVERY_DELAY_BONDED_MS = 300;
+    private static final int DISCOVERY_DELAY_WARM_MS = 0;
+    private static final long WARM_RECONNECT_WINDOW_MS = 5000;
+
+    // 서비스 탐색 결과 전달 방식
+    public static final int DISCOVERY_EVENTS_PER_ITEM = 0;
+    public static final int DISCOVERY_EVENTS_TABLE = 1;
 
     private static BLEConnectionManager instance;
-    private Map<String, BluetoothGatt> connectedDevices;
-    private Map<String, Integer> retryCountMap;
-    private Map<String, String> deviceNameToAddressMap;
+    // 디바이스별 연결 상태 머신, GATT 콜백(바인더/디바이스 스레드)과 Unity JNI 스레드가 동시에 접근
+    private final ConcurrentHashMap<String, DeviceConnection> connections = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> deviceNameToAddressMap = new ConcurrentHashMap<>();
+    private final ConnectionScheduler scheduler = new ConnectionScheduler();
+    private volatile int attemptTimeoutMs = CONNECTION_TIMEOUT_MS;
+    private volatile int discoveryEventMode = DISCOVERY_EVENTS_PER_ITEM;
+    private volatile int discoveryDelayMs = DISCOVERY_DELAY_MS;
+    private volatile int discoveryDelayBondedMs = DISCOVERY_DELAY_BONDED_MS;
+    private volatile int discoveryDelayWarmMs = DISCOVERY_DELAY_WARM_MS;
+    private final ConcurrentHashMap<String, Integer> stickyDevices = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Boolean> discoveredDevices = new ConcurrentHashMap<>();
     private UnityBLEBridge bridge;
 
     private BLEConnectionManager() {
-        connectedDevices = new HashMap<>();
-        retryCountMap = new HashMap<>();
-        deviceNameToAddressMap = new HashMap<>();
     }
 
     public static BLEConnectionManager getInstance() {
@@ -54,10 +77,54 @@ public class BLEConnectionManager {
 
     public static void ConnectToPeripheral(String address) {
         BLEConnectionManager manager = getInstance();
-        manager.connectInternal(address);
+        manager.connectInternal(address, 0);
+    }
+
+    // priority 가 높을수록 대기열 앞쪽 (같으면 요청 순)
+    public static void ConnectToPeripheralWithPriority(String address, int priority) {
+        BLEConnectionManager manager = getInstance();
+        manager.connectInternal(address, priority);
+    }
+
+    // maxConcurrentAttempts: 동시에 진행할 connectGatt 수, attemptTimeoutMs: 시도별 타임아웃 (초과 시 gatt close 후 재시도)
+    public static void SetConnectionScheduler(int maxConcurrentAttempts, int attemptTimeoutMs) {
+        BLEConnectionManager manager = getInstance();
+        manager.setConnectionSchedulerInternal(maxConcurrentAttempts, attemptTimeoutMs);
+    }
+
+    private void setConnectionSchedulerInternal(int maxConcurrentAttempts, int attemptTimeoutMs) {
+        if (maxConcurrentAttempts <= 0 || attemptTimeoutMs <= 0) {
+            Log.w(TAG, "Invalid connection scheduler: " + maxConcurrentAttempts + " attempts, timeout " + attemptTimeoutMs + "ms");
+            return;
+        }
+
+        scheduler.setMaxInFlight(maxConcurrentAttempts);
+        this.attemptTimeoutMs = attemptTimeoutMs;
+        Log.d(TAG, "Connection scheduler: " + maxConcurrentAttempts + " attempts, timeout " + attemptTimeoutMs + "ms");
+        dispatchConnections();
+    }
+
+    // sticky 디바이스는 DisconnectPeripheral 없이 링크가 끊기면 policy(RECONNECT_*) 로 자동 재연결
+    public static void SetStickyDevice(String address, boolean sticky, int policy) {
+        BLEConnectionManager manager = getInstance();
+        manager.setStickyDeviceInternal(address, sticky, policy);
+    }
+
+    private void setStickyDeviceInternal(String address, boolean sticky, int policy) {
+        if (address == null || policy < RECONNECT_DIRECT || policy > RECONNECT_AUTO) {
+            Log.w(TAG, "Invalid sticky device: " + address + ", policy " + policy);
+            return;
+        }
+
+        if (sticky) {
+            stickyDevices.put(address, policy);
+        } else {
+            stickyDevices.remove(address);
+        }
+        Log.d(TAG, "Sticky device " + address + ": " + sticky + " (policy " + policy + ")");
     }
 
-    private void connectInternal(String address) {
+    private void connectInternal(String address, int priority) {
         BLEManager bleManager = BLEManager.getInstance();
         bridge = bleManager.getBridge();
 
@@ -66,11 +133,6 @@ public class BLEConnectionManager {
             return;
         }
 
-        if (connectedDevices.containsKey(address)) {
-            Log.w(TAG, "Device already connected: " + address);
-            return;
-        }
-
         BluetoothAdapter adapter = bleManager.getBluetoothAdapter();
         if (adapter == null) {
             bridge.sendError("Bluetooth adapter not available");
@@ -83,97 +145,303 @@ public class BLEConnectionManager {
             return;
         }
 
-        retryCountMap.put(address, 0);
-        connectWithRetry(device);
-    }
-
-    private void connectWithRetry(final BluetoothDevice device) {
-        final String address = device.getAddress();
-        Integer retryCount = retryCountMap.get(address);
-
-        if (retryCount == null) {
-            retryCount = 0;
+        // 이전 연결이 CLOSED 인 경우에만 새 연결로 교체 (동시 Connect 호출 중 하나만 성공)
+        DeviceConnection connection = new DeviceConnection(device, priority);
+        DeviceConnection existing = connections.putIfAbsent(address, connection);
+        if (existing != null && !(existing.isClosed() && connections.replace(address, existing, connection))) {
+            Log.w(TAG, "Device already " + DeviceConnection.stateName(existing.getState()) + ": " + address);
+            return;
         }
 
-        if (retryCount >= MAX_RETRY_COUNT) {
-            retryCountMap.remove(address);
-            bridge.sendError("Failed to connect after " + MAX_RETRY_COUNT + " attempts: " + address);
-            return;
+        connection.setWorker(ThreadHelper.startDeviceThread(address));
+        scheduler.enqueue(connection);
+        dispatchConnections();
+    }
+
+    // 빈 슬롯만큼 대기 중인 연결 시도 시작
+    private void dispatchConnections() {
+        DeviceConnection connection;
+        while ((connection = scheduler.poll()) != null) {
+            startAttempt(connection);
         }
+    }
 
-        Context context = BLEManager.getInstance().getContext();
-        BluetoothGattCallback gattCallback = createGattCallback(address);
+    private void startAttempt(final DeviceConnection connection) {
+        final String address = connection.getAddress();
+        final BluetoothDevice device = connection.getDevice();
+        final Context context = BLEManager.getInstance().getContext();
+        final BluetoothGattCallback gattCallback = createGattCallback(address, connection);
 
-        ThreadHelper.runOnMainThread(new Runnable() {
+        ThreadHelper.runOnDeviceThread(address, new Runnable() {
             @Override
             public void run() {
+                if (connection.getState() != DeviceConnection.STATE_CONNECTING) {
+                    finishAttempt(connection);
+                    return;
+                }
+
                 try {
-                    BluetoothGatt gatt;
-                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                    final BluetoothGatt gatt;
+                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                        gatt = device.connectGatt(context, false, gattCallback, BluetoothDevice.TRANSPORT_LE,
+                                BluetoothDevice.PHY_LE_1M_MASK, connection.getWorker().getHandler());
+                    } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
                         gatt = device.connectGatt(context, false, gattCallback, BluetoothDevice.TRANSPORT_LE);
                     } else {
                         gatt = device.connectGatt(context, false, gattCallback);
                     }
 
                     if (gatt != null) {
+                        connection.setGatt(gatt);
+                        Runnable timeout = new Runnable() {
+                            @Override
+                            public void run() {
+                                if (connection.getState() == DeviceConnection.STATE_CONNECTING && connection.getGatt() == gatt) {
+                                    failAttempt(connection, "timeout");
+                                }
+                            }
+                        };
+                        connection.setAttemptTimeout(timeout);
+                        ThreadHelper.runOnDeviceThreadDelayed(address, timeout, attemptTimeoutMs);
                         Log.d(TAG, "Connection initiated: " + address);
                     } else {
-                        handleConnectionRetry(device);
+                        failAttempt(connection, "connectGatt returned null");
                     }
                 } catch (Exception e) {
                     Log.e(TAG, "Failed to initiate connection", e);
-                    handleConnectionRetry(device);
+                    failAttempt(connection, e.getMessage());
                 }
             }
         });
     }
 
-    private void handleConnectionRetry(final BluetoothDevice device) {
-        final String address = device.getAddress();
-        Integer retryCount = retryCountMap.get(address);
-        if (retryCount != null) {
-            retryCountMap.put(address, retryCount + 1);
-            ThreadHelper.runOnMainThreadDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    connectWithRetry(device);
+    // 시도 종료: 타임아웃 취소, 슬롯 반환 후 다음 대기 연결 시작
+    private void finishAttempt(DeviceConnection connection) {
+        Runnable timeout = connection.getAttemptTimeout();
+        if (timeout != null) {
+            connection.setAttemptTimeout(null);
+            ThreadHelper.cancelOnDeviceThread(connection.getAddress(), timeout);
+        }
+        if (scheduler.release(connection.getAddress())) {
+            dispatchConnections();
+        }
+    }
+
+    // 실패한 시도의 gatt 를 닫고, 한도 내면 지수 backoff(jitter) 후 대기열에 다시 넣음
+    private void failAttempt(final DeviceConnection connection, String reason) {
+        final String address = connection.getAddress();
+        BluetoothGatt gatt = connection.getGatt();
+        connection.setGatt(null);
+        if (gatt != null) {
+            gatt.disconnect();
+            gatt.close();
+        }
+        finishAttempt(connection);
+
+        if (connection.getState() != DeviceConnection.STATE_CONNECTING) {
+            return;
+        }
+
+        int attempts = connection.incrementRetryCount();
+        if (attempts >= MAX_RETRY_COUNT) {
+            closeConnection(connection);
+            ThreadHelper.releaseDeviceThread(address, connection.getWorker());
+            bridge.sendError("Failed to connect after " + MAX_RETRY_COUNT + " attempts: " + address);
+            return;
+        }
+
+        long delay = scheduler.backoffDelay(attempts);
+        Log.w(TAG, "Connection attempt " + attempts + " failed (" + reason + "), retrying in " + delay + "ms: " + address);
+        ThreadHelper.runOnDeviceThreadDelayed(address, new Runnable() {
+            @Override
+            public void run() {
+                if (connection.getState() == DeviceConnection.STATE_CONNECTING) {
+                    scheduler.enqueue(connection);
+                    dispatchConnections();
                 }
-            }, RETRY_DELAY_MS);
+            }
+        }, delay);
+    }
+
+    // sticky 디바이스 링크 끊김 (상태는 이미 CONNECTING): GATT 상태 정리 후 재연결
+    // AUTO 는 기존 gatt 를 닫지 않고 gatt.connect() (autoConnect, 스케줄러 슬롯/타임아웃 없음)
+    // DIRECT 는 gatt 를 닫고 스케줄러 대기열 맨 앞에서 새 connectGatt
+    private void handleLinkLoss(BluetoothGatt gatt, DeviceConnection connection, int policy) {
+        String address = connection.getAddress();
+        Log.d(TAG, "Link lost, reconnecting (policy " + policy + "): " + address);
+        BLEGattManager.clearRequests(address);
+        BLEGattManager.invalidateCache(address);
+        BLEGattManager.resetMtu(address);
+        NotificationDispatcher.getInstance().closeDevice(address);
+        bridge.sendDeviceDisconnected(address);
+
+        connection.startReconnect(SystemClock.elapsedRealtime());
+        if (policy == RECONNECT_AUTO && gatt.connect()) {
+            return;
+        }
+
+        connection.setGatt(null);
+        gatt.close();
+        scheduler.enqueue(connection);
+        dispatchConnections();
+    }
+
+    // PER_ITEM: 서비스/특성마다 OnServiceDiscovered/OnCharacteristicDiscovered, TABLE: 디바이스당 OnGattTable 하나 (properties, 디스크립터 포함)
+    public static void SetDiscoveryEventMode(int mode) {
+        if (mode < DISCOVERY_EVENTS_PER_ITEM || mode > DISCOVERY_EVENTS_TABLE) {
+            Log.w(TAG, "Invalid discovery event mode: " + mode);
+            return;
         }
+        getInstance().discoveryEventMode = mode;
+        Log.d(TAG, "Discovery event mode: " + mode);
     }
 
-    private BluetoothGattCallback createGattCallback(final String address) {
+    private void sendDatabase(String address, GattDatabase database) {
+        if (discoveryEventMode == DISCOVERY_EVENTS_TABLE) {
+            bridge.sendGattTable(address, database.toCompactBytes());
+            return;
+        }
+
+        for (int i = 0; i < database.getServiceCount(); i++) {
+            String serviceUuid = database.getService(i).toString().toUpperCase();
+            bridge.sendServiceDiscovered(address, serviceUuid);
+
+            for (int j = 0; j < database.getCharacteristicCount(i); j++) {
+                String charUuid = database.getCharacteristic(i, j).toString().toUpperCase();
+                bridge.sendCharacteristicDiscovered(address, serviceUuid, charUuid);
+            }
+        }
+    }
+
+    // 캐시된 GATT 테이블이 있는 디바이스 (스캔 없이 ConnectToPeripheral 로 바로 연결 가능)
+    public static String[] GetKnownDevices() {
+        return GattDatabaseStore.getInstance().getKnownAddresses();
+    }
+
+    public static void ConnectToKnownDevices(int priority) {
+        BLEConnectionManager manager = getInstance();
+        for (String address : GetKnownDevices()) {
+            manager.connectInternal(address, priority);
+        }
+    }
+
+    public static void ForgetKnownDevice(String address) {
+        GattDatabaseStore.getInstance().remove(address);
+    }
+
+    public static void SetGattCacheEnabled(boolean enabled) {
+        GattDatabaseStore.getInstance().setEnabled(enabled);
+        Log.d(TAG, "GATT cache enabled: " + enabled);
+    }
+
+    // coldMs: 처음 보는(또는 본딩되지 않은) 디바이스, bondedMs: 본딩된 디바이스, warmMs: 서비스를 이미 아는 본딩 디바이스/직후 sticky 재연결
+    public static void SetDiscoveryDelays(int coldMs, int bondedMs, int warmMs) {
+        if (coldMs < 0 || bondedMs < 0 || warmMs < 0) {
+            Log.w(TAG, "Invalid discovery delays: " + coldMs + "/" + bondedMs + "/" + warmMs);
+            return;
+        }
+
+        BLEConnectionManager manager = getInstance();
+        manager.discoveryDelayMs = coldMs;
+        manager.discoveryDelayBondedMs = bondedMs;
+        manager.discoveryDelayWarmMs = warmMs;
+        Log.d(TAG, "Discovery delays: " + coldMs + "/" + bondedMs + "/" + warmMs + "ms");
+    }
+
+    private int discoveryDelay(BluetoothDevice device, DeviceConnection connection) {
+        String address = device.getAddress();
+        boolean servicesKnown = discoveredDevices.containsKey(address) || GattDatabaseStore.getInstance().get(address) != null;
+        if (servicesKnown && connection.isReconnecting()
+                && SystemClock.elapsedRealtime() - connection.getReconnectStartMs() <= WARM_RECONNECT_WINDOW_MS) {
+            return discoveryDelayWarmMs;
+        }
+        if (device.getBondState() == BluetoothDevice.BOND_BONDED) {
+            return servicesKnown ? discoveryDelayWarmMs : discoveryDelayBondedMs;
+        }
+        return discoveryDelayMs;
+    }
+
+    // CLOSED 로 전이하고 맵에서 이 연결만 제거 (그 사이 교체된 새 연결은 유지)
+    private boolean closeConnection(DeviceConnection connection) {
+        boolean closed = connection.moveTo(DeviceConnection.STATE_CLOSED);
+        connections.remove(connection.getAddress(), connection);
+        return closed;
+    }
+
+    private BluetoothGattCallback createGattCallback(final String address, final DeviceConnection connection) {
         return new BluetoothGattCallback() {
             @Override
             public void onConnectionStateChange(BluetoothGatt gatt, int status, int newState) {
                 super.onConnectionStateChange(gatt, status, newState);
 
                 if (newState == BluetoothProfile.STATE_CONNECTED) {
+                    connection.setGatt(gatt);
+                    finishAttempt(connection);
+                    if (!connection.moveTo(DeviceConnection.STATE_CONNECTED)) {
+                        // 연결 중 Disconnect 요청됨
+                        Log.d(TAG, "Connected after disconnect request, disconnecting: " + address);
+                        gatt.disconnect();
+                        return;
+                    }
                     Log.d(TAG, "Device connected: " + address);
-                    connectedDevices.put(address, gatt);
-                    retryCountMap.remove(address);
 
                     String deviceName = gatt.getDevice().getName();
                     if (deviceName != null && !deviceName.isEmpty()) {
                         deviceNameToAddressMap.put(deviceName.toUpperCase(), address);
                     }
 
+                    NotificationDispatcher.getInstance().openDevice(address);
                     bridge.sendDeviceConnected(address);
 
-                    ThreadHelper.runOnMainThreadDelayed(new Runnable() {
+                    // 알려진 디바이스는 탐색 완료를 기다리지 않고 캐시된 테이블을 먼저 전달 (탐색 결과로 검증)
+                    // OnServicesReady 전까지는 잠정 정보이며 특성 작업(Subscribe/Read/Write, 핸들)은 "Services not ready" 로 거부됨
+                    // 항목별 이벤트는 되돌릴 수 없으므로 다음 OnGattTable 이 이전 테이블을 대체하는 TABLE 모드에서만 전달
+                    GattDatabase cached = discoveryEventMode == DISCOVERY_EVENTS_TABLE
+                            ? GattDatabaseStore.getInstance().get(address) : null;
+                    connection.setServedDatabase(cached);
+                    if (cached != null) {
+                        Log.d(TAG, "Serving cached GATT database: " + address);
+                        sendDatabase(address, cached);
+                    }
+
+                    ThreadHelper.runOnDeviceThreadDelayed(address, new Runnable() {
                         @Override
                         public void run() {
-                            gatt.discoverServices();
+                            if (connection.moveTo(DeviceConnection.STATE_DISCOVERING)) {
+                                gatt.discoverServices();
+                            }
                         }
-                    }, 600);
+                    }, discoveryDelay(gatt.getDevice(), connection));
 
                 } else if (newState == BluetoothProfile.STATE_DISCONNECTED) {
+                    if (connection.getState() == DeviceConnection.STATE_CONNECTING) {
+                        // 연결 전 실패 (status 133 등): 이 시도의 gatt 면 재시도, 이미 교체된 gatt 면 닫기만
+                        if (connection.getGatt() == gatt) {
+                            failAttempt(connection, "status " + status);
+                        } else {
+                            gatt.close();
+                        }
+                        return;
+                    }
+                    Integer policy = stickyDevices.get(address);
+                    if (policy != null && connection.moveTo(DeviceConnection.STATE_CONNECTING)) {
+                        handleLinkLoss(gatt, connection, policy);
+                        return;
+                    }
+                    if (!closeConnection(connection)) {
+                        // 이미 정리된 연결(연결 시도 취소 등)의 늦은 콜백
+                        gatt.close();
+                        return;
+                    }
                     Log.d(TAG, "Device disconnected: " + address);
-                    connectedDevices.remove(address);
+                    BLEGattManager.clearRequests(address);
+                    BLEGattManager.invalidateCache(address);
+                    BLEGattManager.resetMtu(address);
+                    NotificationDispatcher.getInstance().closeDevice(address);
 
                     String deviceName = gatt.getDevice().getName();
                     if (deviceName != null && !deviceName.isEmpty()) {
-                        deviceNameToAddressMap.remove(deviceName.toUpperCase());
+                        deviceNameToAddressMap.remove(deviceName.toUpperCase(), address);
                     }
 
                     bridge.sendDeviceDisconnected(address);
@@ -181,6 +449,7 @@ public class BLEConnectionManager {
                     if (gatt != null) {
                         gatt.close();
                     }
+                    ThreadHelper.releaseDeviceThread(address, connection.getWorker());
                 }
             }
 
@@ -190,58 +459,113 @@ public class BLEConnectionManager {
 
                 if (status == BluetoothGatt.GATT_SUCCESS) {
                     Log.d(TAG, "Services discovered: " + address);
+                    BLEGattManager.onServicesDiscovered(address, gatt);
+                    discoveredDevices.put(address, Boolean.TRUE);
+                    connection.moveTo(DeviceConnection.STATE_READY);
+                    if (connection.isReconnecting()) {
+                        int elapsedMs = (int) (SystemClock.elapsedRealtime() - connection.getReconnectStartMs());
+                        connection.finishReconnect();
+                        Log.d(TAG, "Device reconnected in " + elapsedMs + "ms: " + address);
+                        bridge.sendDeviceReconnected(address, elapsedMs);
+                    }
 
-                    List<BluetoothGattService> services = gatt.getServices();
-                    for (BluetoothGattService service : services) {
-                        String serviceUuid = service.getUuid().toString().toUpperCase();
-                        bridge.sendServiceDiscovered(address, serviceUuid);
-
-                        List<BluetoothGattCharacteristic> characteristics = service.getCharacteristics();
-                        for (BluetoothGattCharacteristic characteristic : characteristics) {
-                            String charUuid = characteristic.getUuid().toString().toUpperCase();
-                            bridge.sendCharacteristicDiscovered(address, serviceUuid, charUuid);
+                    GattDatabase database = GattDatabase.fromServices(address, gatt.getServices());
+                    GattDatabase served = connection.getServedDatabase();
+                    if (served == null || served.getHash() != database.getHash()) {
+                        if (served != null) {
+                            Log.w(TAG, "GATT database changed, resending: " + address);
                         }
+                        sendDatabase(address, database);
+                        connection.setServedDatabase(database);
                     }
+                    GattDatabaseStore.getInstance().put(database);
+                    bridge.sendServicesReady(address);
                 } else {
                     Log.e(TAG, "Service discovery failed: " + status);
+                    connection.moveTo(DeviceConnection.STATE_CONNECTED);
+                    // 먼저 보낸 테이블은 더 이상 믿을 수 없으므로 빈 테이블로 대체 (재탐색 성공 시 전체 테이블 다시 전달)
+                    if (connection.getServedDatabase() != null) {
+                        connection.setServedDatabase(null);
+                        if (discoveryEventMode == DISCOVERY_EVENTS_TABLE) {
+                            bridge.sendGattTable(address, GattDatabase.fromServices(address, null).toCompactBytes());
+                        }
+                    }
                     bridge.sendError("Service discovery failed for device: " + address);
                 }
             }
 
+            @Override
+            public void onServiceChanged(BluetoothGatt gatt) {
+                Log.d(TAG, "Service changed, rediscovering: " + address);
+                BLEGattManager.invalidateCache(address);
+                ThreadHelper.runOnDeviceThread(address, new Runnable() {
+                    @Override
+                    public void run() {
+                        if (connection.moveTo(DeviceConnection.STATE_DISCOVERING)) {
+                            gatt.discoverServices();
+                        }
+                    }
+                });
+            }
+
             @Override
             public void onCharacteristicRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
-                super.onCharacteristicRead(gatt, characteristic, status);
+                handleCharacteristicRead(characteristic, characteristic.getValue(), status);
+            }
+
+            @Override
+            public void onCharacteristicRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value, int status) {
+                handleCharacteristicRead(characteristic, value, status);
+            }
+
+            private void handleCharacteristicRead(BluetoothGattCharacteristic characteristic, byte[] data, int status) {
                 if (status == BluetoothGatt.GATT_SUCCESS) {
-                    byte[] data = characteristic.getValue();
-                    String charUuid = characteristic.getUuid().toString().toUpperCase();
+                    String charUuid = UUIDConverter.toUpperString(characteristic.getUuid());
                     bridge.sendDataReceived(address, charUuid, data);
                     Log.d(TAG, "Characteristic read: " + charUuid);
                 }
+                BLEGattManager.onRequestComplete(address, GattRequest.TYPE_CHARACTERISTIC_READ, status == BluetoothGatt.GATT_SUCCESS);
+            }
+
+            @Override
+            public void onCharacteristicWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
+                super.onCharacteristicWrite(gatt, characteristic, status);
+                if (status != BluetoothGatt.GATT_SUCCESS) {
+                    Log.w(TAG, "Characteristic write failed: " + status);
+                }
+                BLEGattManager.onRequestComplete(address, GattRequest.TYPE_CHARACTERISTIC_WRITE, status == BluetoothGatt.GATT_SUCCESS);
             }
 
+            // API 33 미만: characteristic 내부 값 사용
             @Override
             public void onCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic) {
-                super.onCharacteristicChanged(gatt, characteristic);
+                handleCharacteristicChanged(characteristic, characteristic.getValue());
+            }
 
-                byte[] originalData = characteristic.getValue();
-                if (originalData == null || originalData.length == 0) {
+            // API 33+: 값이 인자로 전달되며 위 콜백은 호출되지 않음
+            @Override
+            public void onCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value) {
+                handleCharacteristicChanged(characteristic, value);
+            }
+
+            private void handleCharacteristicChanged(BluetoothGattCharacteristic characteristic, byte[] value) {
+                if (value == null || value.length == 0) {
                     return;
                 }
 
-                byte[] dataCopy = new byte[originalData.length];
-                System.arraycopy(originalData, 0, dataCopy, 0, originalData.length);
-
-                String charUuid = characteristic.getUuid().toString().toUpperCase();
-                bridge.sendDataReceived(address, charUuid, dataCopy);
+                String charUuid = UUIDConverter.toUpperString(characteristic.getUuid());
+                NotificationDispatcher.getInstance().enqueue(address, charUuid, value);
             }
 
             @Override
             public void onMtuChanged(BluetoothGatt gatt, int mtu, int status) {
                 super.onMtuChanged(gatt, mtu, status);
                 if (status == BluetoothGatt.GATT_SUCCESS) {
+                    BLEGattManager.onMtuChanged(address, mtu);
                     bridge.sendMtuChanged(address, mtu);
                     Log.d(TAG, "MTU changed: " + mtu);
                 }
+                BLEGattManager.onRequestComplete(address, GattRequest.TYPE_MTU, status == BluetoothGatt.GATT_SUCCESS);
             }
 
             @Override
@@ -250,9 +574,8 @@ public class BLEConnectionManager {
                 if (status == BluetoothGatt.GATT_SUCCESS) {
                     bridge.sendRssiRead(address, rssi);
                     Log.d(TAG, "RSSI read: " + rssi);
-                } else {
-                    bridge.sendError("Failed to read RSSI: " + address);
                 }
+                BLEGattManager.onRequestComplete(address, GattRequest.TYPE_RSSI, status == BluetoothGatt.GATT_SUCCESS);
             }
 
             @Override
@@ -266,6 +589,7 @@ public class BLEConnectionManager {
                         Log.d(TAG, "Notification state changed for: " + charUuid);
                     }
                 }
+                BLEGattManager.onRequestComplete(address, GattRequest.TYPE_DESCRIPTOR_WRITE, status == BluetoothGatt.GATT_SUCCESS);
             }
         };
     }
@@ -275,19 +599,45 @@ public class BLEConnectionManager {
         manager.disconnectInternal(address);
     }
 
-    private void disconnectInternal(String address) {
-        BluetoothGatt gatt = connectedDevices.get(address);
-        if (gatt != null) {
-            ThreadHelper.runOnMainThread(new Runnable() {
-                @Override
-                public void run() {
+    private void disconnectInternal(final String address) {
+        final DeviceConnection connection = connections.get(address);
+        if (connection == null) {
+            Log.w(TAG, "Device not connected: " + address);
+            return;
+        }
+
+        // 실제로 CONNECTING 에서 전이했는지로 판단 (그 사이 CONNECTED 콜백이 오면 연결된 경로로 처리)
+        final boolean wasConnecting = connection.moveTo(DeviceConnection.STATE_CONNECTING, DeviceConnection.STATE_DISCONNECTING);
+        if (!wasConnecting && !connection.moveTo(DeviceConnection.STATE_DISCONNECTING)) {
+            Log.w(TAG, "Device not connected: " + address + " (" + DeviceConnection.stateName(connection.getState()) + ")");
+            return;
+        }
+
+        ThreadHelper.runOnDeviceThread(address, new Runnable() {
+            @Override
+            public void run() {
+                BluetoothGatt gatt = connection.getGatt();
+                if (wasConnecting) {
+                    // 연결 전이면 disconnect 콜백이 오지 않으므로 여기서 시도 취소 후 정리
+                    if (gatt != null) {
+                        gatt.disconnect();
+                        gatt.close();
+                    }
+                    scheduler.remove(connection);
+                    finishAttempt(connection);
+                    dispatchConnections();
+                    closeConnection(connection);
+                    Log.d(TAG, "Connection attempt cancelled: " + address);
+                    ThreadHelper.releaseDeviceThread(address, connection.getWorker());
+                    return;
+                }
+
+                if (gatt != null) {
                     gatt.disconnect();
                     Log.d(TAG, "Disconnect requested: " + address);
                 }
-            });
-        } else {
-            Log.w(TAG, "Device not connected: " + address);
-        }
+            }
+        });
     }
 
     public static void DisconnectAll() {
@@ -296,17 +646,25 @@ public class BLEConnectionManager {
     }
 
     private void disconnectAllInternal() {
-        for (String address : connectedDevices.keySet()) {
+        for (String address : connections.keySet()) {
             disconnectInternal(address);
         }
     }
 
     public BluetoothGatt getGatt(String address) {
-        return connectedDevices.get(address);
+        DeviceConnection connection = connections.get(address);
+        return connection != null && connection.isConnected() ? connection.getGatt() : null;
     }
 
     public boolean isConnected(String address) {
-        return connectedDevices.containsKey(address);
+        DeviceConnection connection = connections.get(address);
+        return connection != null && connection.isConnected();
+    }
+
+    // DeviceConnection.STATE_*, 연결 정보가 없으면 STATE_CLOSED
+    public static int GetConnectionState(String address) {
+        DeviceConnection connection = getInstance().connections.get(address);
+        return connection != null ? connection.getState() : DeviceConnection.STATE_CLOSED;
     }
 
     public String getAddressFromName(String deviceName) {
@@ -329,10 +687,10 @@ public class BLEConnectionManager {
             return false;
         }
 
-        BluetoothGatt gatt = connectedDevices.get(address);
+        BluetoothGatt gatt = getGatt(address);
         if (gatt == null) {
             Log.w(TAG, "[WARNING] Cannot set connection priority - device not connected: " + address);
-            Log.d(TAG, "[DEBUG] connectedDevices 크기: " + connectedDevices.size());
+            Log.d(TAG, "[DEBUG] connections 크기: " + connections.size());
             return false;
         }
 
@@ -343,16 +701,16 @@ public class BLEConnectionManager {
 
         Log.d(TAG, "[DEBUG] requestConnectionPriority resolved - address: " + address + ", resolvedPriority: " + resolvedPriority + ", rawPriority: " + priority);
 
-        if (ThreadHelper.isMainThread()) {
+        if (ThreadHelper.isDeviceThread(address)) {
             boolean requestResult = gatt.requestConnectionPriority(resolvedPriority);
-            Log.d(TAG, "[DEBUG] requestConnectionPriority mainThread result - address: " + address + ", result: " + requestResult);
+            Log.d(TAG, "[DEBUG] requestConnectionPriority deviceThread result - address: " + address + ", result: " + requestResult);
             return requestResult;
         }
 
         AtomicBoolean result = new AtomicBoolean(false);
         CountDownLatch latch = new CountDownLatch(1);
 
-        ThreadHelper.runOnMainThread(new Runnable() {
+        ThreadHelper.runOnDeviceThread(address, new Runnable() {
             @Override
             public void run() {
                 try {
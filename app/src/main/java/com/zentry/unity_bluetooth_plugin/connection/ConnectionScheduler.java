@@ -0,0 +1,76 @@
+package com.zentry.unity_bluetooth_plugin.connection;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// 동시에 진행하는 connectGatt 시도 수 제한 (동시 시도가 많으면 컨트롤러에서 충돌해 status 133 이 연달아 발생)
+// 대기열은 자동 재연결 → 우선순위가 높은 순 → 요청 순
+public class ConnectionScheduler {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 2;
+
+    private static final long BACKOFF_BASE_MS = 500;
+    private static final long BACKOFF_MAX_MS = 8000;
+
+    private final PriorityQueue<DeviceConnection> pending = new PriorityQueue<>(16, new Comparator<DeviceConnection>() {
+        @Override
+        public int compare(DeviceConnection a, DeviceConnection b) {
+            if (a.isReconnecting() != b.isReconnecting()) {
+                return a.isReconnecting() ? -1 : 1;
+            }
+            if (a.getPriority() != b.getPriority()) {
+                return a.getPriority() > b.getPriority() ? -1 : 1;
+            }
+            return Long.compare(a.getSequence(), b.getSequence());
+        }
+    });
+    private final HashSet<String> inFlight = new HashSet<>();
+    private final Random random = new Random();
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private long nextSequence = 0;
+
+    public synchronized void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public synchronized void enqueue(DeviceConnection connection) {
+        connection.setSequence(nextSequence++);
+        pending.add(connection);
+    }
+
+    // 빈 슬롯이 있으면 다음 연결을 꺼내 진행 중으로 표시, 없으면 null
+    public synchronized DeviceConnection poll() {
+        while (inFlight.size() < maxInFlight) {
+            DeviceConnection connection = pending.poll();
+            if (connection == null) {
+                return null;
+            }
+            if (connection.getState() != DeviceConnection.STATE_CONNECTING) {
+                continue;
+            }
+            inFlight.add(connection.getAddress());
+            return connection;
+        }
+        return null;
+    }
+
+    // 시도가 끝나면(성공/실패/타임아웃) 슬롯 반환
+    public synchronized boolean release(String address) {
+        return inFlight.remove(address);
+    }
+
+    // 대기열과 진행 중 목록에서 모두 제거 (연결 취소)
+    public synchronized void remove(DeviceConnection connection) {
+        pending.remove(connection);
+        inFlight.remove(connection.getAddress());
+    }
+
+    // attempt 번째 재시도 대기 시간: min(max, base * 2^(attempt-1)) 의 절반 + [0, 절반) 무작위 (동시 실패한 디바이스끼리 재시도 시점 분산)
+    public synchronized long backoffDelay(int attempt) {
+        long delay = BACKOFF_BASE_MS << Math.min(Math.max(attempt - 1, 0), 4);
+        delay = Math.min(delay, BACKOFF_MAX_MS);
+        long half = delay / 2;
+        return half + (long) (random.nextDouble() * half);
+    }
+}
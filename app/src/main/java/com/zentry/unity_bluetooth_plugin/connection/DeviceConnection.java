@@ -0,0 +1,192 @@
+package com.zentry.unity_bluetooth_plugin.connection;
+
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGatt;
+import android.util.Log;
+
+import com.zentry.unity_bluetooth_plugin.gatt.GattDatabase;
+import com.zentry.unity_bluetooth_plugin.utils.GattWorker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 연결 1건(connect ~ close)의 상태, 조회는 락 없이 volatile/atomic 읽기
+// CLOSED 는 종료 상태이며 재연결은 새 DeviceConnection 으로 시작 (sticky 디바이스의 링크 끊김만 CONNECTING 으로 복귀)
+public class DeviceConnection {
+    private static final String TAG = "DeviceConnection";
+
+    public static final int STATE_CONNECTING = 0;
+    public static final int STATE_CONNECTED = 1;
+    public static final int STATE_DISCOVERING = 2;
+    public static final int STATE_READY = 3;
+    public static final int STATE_DISCONNECTING = 4;
+    public static final int STATE_CLOSED = 5;
+
+    // 상태별로 전이 가능한 다음 상태 (bit = 1 << state)
+    private static final int[] ALLOWED_TRANSITIONS = {
+            (1 << STATE_CONNECTED) | (1 << STATE_DISCONNECTING) | (1 << STATE_CLOSED),
+            (1 << STATE_CONNECTING) | (1 << STATE_DISCOVERING) | (1 << STATE_DISCONNECTING) | (1 << STATE_CLOSED),
+            (1 << STATE_CONNECTING) | (1 << STATE_READY) | (1 << STATE_CONNECTED) | (1 << STATE_DISCONNECTING) | (1 << STATE_CLOSED),
+            (1 << STATE_CONNECTING) | (1 << STATE_DISCOVERING) | (1 << STATE_DISCONNECTING) | (1 << STATE_CLOSED),
+            (1 << STATE_CLOSED),
+            0
+    };
+
+    private final BluetoothDevice device;
+    private final String address;
+    private final int priority;
+    private final AtomicInteger state = new AtomicInteger(STATE_CONNECTING);
+    private final AtomicInteger retryCount = new AtomicInteger(0);
+    private volatile BluetoothGatt gatt;
+    // 이 연결 전용 GATT 스레드 (연결 시작 ~ CLOSED)
+    private volatile GattWorker worker;
+    // ConnectionScheduler 대기열 순서, 진행 중인 시도의 타임아웃
+    private long sequence;
+    private volatile Runnable attemptTimeout;
+    // 링크 끊김 후 자동 재연결 시작 시각 (elapsedRealtime), 재연결 중이 아니면 0
+    private volatile long reconnectStartMs;
+    // 연결 직후 디스크 캐시로 Unity 에 먼저 보낸 GATT 테이블 (탐색 결과와 같으면 다시 보내지 않음)
+    private volatile GattDatabase servedDatabase;
+
+    public DeviceConnection(BluetoothDevice device, int priority) {
+        this(device, device.getAddress(), priority);
+    }
+
+    DeviceConnection(BluetoothDevice device, String address, int priority) {
+        this.device = device;
+        this.address = address;
+        this.priority = priority;
+    }
+
+    public BluetoothDevice getDevice() {
+        return device;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Runnable getAttemptTimeout() {
+        return attemptTimeout;
+    }
+
+    public void setAttemptTimeout(Runnable attemptTimeout) {
+        this.attemptTimeout = attemptTimeout;
+    }
+
+    public long getReconnectStartMs() {
+        return reconnectStartMs;
+    }
+
+    public boolean isReconnecting() {
+        return reconnectStartMs != 0;
+    }
+
+    public void startReconnect(long nowMs) {
+        reconnectStartMs = nowMs;
+        retryCount.set(0);
+    }
+
+    public void finishReconnect() {
+        reconnectStartMs = 0;
+    }
+
+    public GattWorker getWorker() {
+        return worker;
+    }
+
+    public void setWorker(GattWorker worker) {
+        this.worker = worker;
+    }
+
+    public GattDatabase getServedDatabase() {
+        return servedDatabase;
+    }
+
+    public void setServedDatabase(GattDatabase servedDatabase) {
+        this.servedDatabase = servedDatabase;
+    }
+
+    public int getState() {
+        return state.get();
+    }
+
+    // 허용된 전이일 때만 원자적으로 변경, 성공 여부 반환
+    public boolean moveTo(int next) {
+        while (true) {
+            int current = state.get();
+            if ((ALLOWED_TRANSITIONS[current] & (1 << next)) == 0) {
+                return false;
+            }
+            if (state.compareAndSet(current, next)) {
+                Log.d(TAG, address + ": " + stateName(current) + " -> " + stateName(next));
+                return true;
+            }
+        }
+    }
+
+    // 현재 상태가 expected 일 때만 전이 (전이 직전 상태에 따라 처리가 달라지는 경우)
+    public boolean moveTo(int expected, int next) {
+        if ((ALLOWED_TRANSITIONS[expected] & (1 << next)) == 0 || !state.compareAndSet(expected, next)) {
+            return false;
+        }
+        Log.d(TAG, address + ": " + stateName(expected) + " -> " + stateName(next));
+        return true;
+    }
+
+    // GATT 요청을 보낼 수 있는 상태 (연결 완료 ~ 해제 요청 전)
+    public boolean isConnected() {
+        int current = state.get();
+        return current == STATE_CONNECTED || current == STATE_DISCOVERING || current == STATE_READY;
+    }
+
+    public boolean isClosed() {
+        return state.get() == STATE_CLOSED;
+    }
+
+    public BluetoothGatt getGatt() {
+        return gatt;
+    }
+
+    public void setGatt(BluetoothGatt gatt) {
+        this.gatt = gatt;
+    }
+
+    public int getRetryCount() {
+        return retryCount.get();
+    }
+
+    public int incrementRetryCount() {
+        return retryCount.incrementAndGet();
+    }
+
+    public static String stateName(int state) {
+        switch (state) {
+            case STATE_CONNECTING:
+                return "CONNECTING";
+            case STATE_CONNECTED:
+                return "CONNECTED";
+            case STATE_DISCOVERING:
+                return "DISCOVERING";
+            case STATE_READY:
+                return "READY";
+            case STATE_DISCONNECTING:
+                return "DISCONNECTING";
+            case STATE_CLOSED:
+                return "CLOSED";
+            default:
+                return "UNKNOWN";
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.zentry.unity_bluetooth_plugin.delivery;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+// 여러 notification 으로 나뉘어 오는 프레임을 특성별로 재조립 (디바이스당 1개, GATT 콜백 스레드에서만 사용)
+//
+// Fragment: [header(headerLength)][payload]
+//   sequence = value[sequenceOffset] & sequenceMask  (sequenceMask 0 이면 순서 검사 안 함)
+//   last     = (value[lastFlagOffset] & lastFlagMask) != 0
+// 프레임은 sequence 0 으로 시작, 이후 (이전 + 1) & sequenceMask 순서여야 하며 어긋나면 진행 중 프레임 폐기
+// 헤더보다 짧은 fragment 는 malformed 로 세고 진행 중 프레임도 폐기 (중간이 잘렸으므로 이미 손상된 프레임)
+public class FragmentReassembler {
+    public static final int STAT_FRAMES = 0;
+    public static final int STAT_FRAGMENTS = 1;
+    public static final int STAT_SEQUENCE_ERRORS = 2;
+    public static final int STAT_TIMEOUTS = 3;
+    public static final int STAT_OVERSIZED = 4;
+    public static final int STAT_MALFORMED = 5;
+    private static final int STAT_COUNT = 6;
+
+    public static class Layout {
+        private final int headerLength;
+        private final int sequenceOffset;
+        private final int sequenceMask;
+        private final int lastFlagOffset;
+        private final int lastFlagMask;
+        private final long timeoutNanos;
+        private final int maxFrameLength;
+
+        public Layout(int headerLength, int sequenceOffset, int sequenceMask, int lastFlagOffset, int lastFlagMask, long timeoutNanos, int maxFrameLength) {
+            this.headerLength = headerLength;
+            this.sequenceOffset = sequenceOffset;
+            this.sequenceMask = sequenceMask;
+            this.lastFlagOffset = lastFlagOffset;
+            this.lastFlagMask = lastFlagMask;
+            this.timeoutNanos = timeoutNanos;
+            this.maxFrameLength = maxFrameLength;
+        }
+
+        public boolean isValid() {
+            return headerLength > 0
+                    && sequenceOffset >= 0 && sequenceOffset < headerLength
+                    && lastFlagOffset >= 0 && lastFlagOffset < headerLength
+                    && lastFlagMask > 0 && lastFlagMask <= 0xFF
+                    && sequenceMask >= 0 && sequenceMask <= 0xFF
+                    && timeoutNanos > 0 && maxFrameLength > 0;
+        }
+    }
+
+    private static class Partial {
+        byte[] buffer = new byte[256];
+        int length = 0;
+        int nextSequence = 0;
+        long startNanos = 0;
+        boolean active = false;
+
+        void reset() {
+            length = 0;
+            nextSequence = 0;
+            active = false;
+        }
+    }
+
+    private final HashMap<String, Partial> partials = new HashMap<>();
+    private final long[] stats = new long[STAT_COUNT];
+    private Partial completed;
+
+    // 프레임이 완성되면 true, 결과는 getFrame()[0..getFrameLength()) (다음 accept 호출 전까지 유효)
+    public boolean accept(String characteristicUUID, Layout layout, byte[] value, long nowNanos) {
+        stats[STAT_FRAGMENTS]++;
+        if (completed != null) {
+            completed.reset();
+            completed = null;
+        }
+
+        Partial partial = partials.get(characteristicUUID);
+        if (value.length < layout.headerLength) {
+            stats[STAT_MALFORMED]++;
+            if (partial != null) {
+                partial.reset();
+            }
+            return false;
+        }
+
+        if (partial == null) {
+            partial = new Partial();
+            partials.put(characteristicUUID, partial);
+        }
+
+        if (partial.active && nowNanos - partial.startNanos > layout.timeoutNanos) {
+            stats[STAT_TIMEOUTS]++;
+            partial.reset();
+        }
+
+        int sequence = value[layout.sequenceOffset] & layout.sequenceMask;
+        boolean last = (value[layout.lastFlagOffset] & layout.lastFlagMask) != 0;
+
+        if (layout.sequenceMask != 0 && sequence != partial.nextSequence) {
+            if (partial.active) {
+                stats[STAT_SEQUENCE_ERRORS]++;
+                partial.reset();
+            }
+            if (sequence != 0) {
+                stats[STAT_SEQUENCE_ERRORS]++;
+                return false;
+            }
+        }
+
+        if (!partial.active) {
+            partial.active = true;
+            partial.startNanos = nowNanos;
+        }
+
+        int payloadLength = value.length - layout.headerLength;
+        int required = partial.length + payloadLength;
+        if (required > layout.maxFrameLength) {
+            stats[STAT_OVERSIZED]++;
+            partial.reset();
+            return false;
+        }
+        if (required > partial.buffer.length) {
+            partial.buffer = Arrays.copyOf(partial.buffer, Math.min(layout.maxFrameLength, Math.max(required, partial.buffer.length * 2)));
+        }
+        System.arraycopy(value, layout.headerLength, partial.buffer, partial.length, payloadLength);
+        partial.length = required;
+        partial.nextSequence = (sequence + 1) & layout.sequenceMask;
+
+        if (!last) {
+            return false;
+        }
+
+        stats[STAT_FRAMES]++;
+        completed = partial;
+        return true;
+    }
+
+    public byte[] getFrame() {
+        return completed != null ? completed.buffer : null;
+    }
+
+    public int getFrameLength() {
+        return completed != null ? completed.length : 0;
+    }
+
+    // [frames, fragments, sequenceErrors, timeouts, oversized, malformed]
+    public long[] getStats() {
+        return stats.clone();
+    }
+}
@@ -0,0 +1,113 @@
+package com.zentry.unity_bluetooth_plugin.delivery;
+
+import com.zentry.unity_bluetooth_plugin.IBLERawBatchCallback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// 마지막 flush 이후 도착한 패킷을 하나의 packed 배열로 모아 JNI 호출 1회로 전달
+public class NotificationBatcher {
+    public static final int MAX_BATCH_PACKETS = 512;
+    public static final int MAX_BATCH_BYTES = 64 * 1024;
+    private static final int INITIAL_PACKETS = 64;
+    private static final int INITIAL_PAYLOAD_BYTES = 8 * 1024;
+
+    private final Object flushLock = new Object();
+    private final ArrayList<String> addresses = new ArrayList<>();
+    private final ArrayList<String> characteristicUUIDs = new ArrayList<>();
+
+    private byte[] payload = new byte[INITIAL_PAYLOAD_BYTES];
+    private int payloadSize = 0;
+    private int[] offsets = new int[INITIAL_PACKETS];
+    private int[] lengths = new int[INITIAL_PACKETS];
+    private int[] addressIndices = new int[INITIAL_PACKETS];
+    private int[] characteristicIndices = new int[INITIAL_PACKETS];
+    private long[] timestamps = new long[INITIAL_PACKETS];
+    private int count = 0;
+
+    // 배치가 가득 차면 true 반환 (호출 측에서 즉시 flush)
+    public synchronized boolean append(String address, String characteristicUUID, byte[] data, long timestampNanos) {
+        int length = data != null ? data.length : 0;
+        ensureCapacity(count + 1, payloadSize + length);
+
+        offsets[count] = payloadSize;
+        lengths[count] = length;
+        timestamps[count] = timestampNanos;
+        addressIndices[count] = indexOf(addresses, address);
+        characteristicIndices[count] = indexOf(characteristicUUIDs, characteristicUUID);
+        if (length > 0) {
+            System.arraycopy(data, 0, payload, payloadSize, length);
+        }
+        payloadSize += length;
+        count++;
+
+        return count >= MAX_BATCH_PACKETS || payloadSize >= MAX_BATCH_BYTES;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public int flushTo(IBLERawBatchCallback callback) {
+        synchronized (flushLock) {
+            int batchCount;
+            String[] batchAddresses;
+            String[] batchCharacteristics;
+            int[] batchAddressIndices;
+            int[] batchCharacteristicIndices;
+            long[] batchTimestamps;
+            int[] batchOffsets;
+            int[] batchLengths;
+            byte[] batchPayload;
+
+            synchronized (this) {
+                if (count == 0) {
+                    return 0;
+                }
+                batchCount = count;
+                batchAddresses = addresses.toArray(new String[0]);
+                batchCharacteristics = characteristicUUIDs.toArray(new String[0]);
+                batchAddressIndices = Arrays.copyOf(addressIndices, count);
+                batchCharacteristicIndices = Arrays.copyOf(characteristicIndices, count);
+                batchTimestamps = Arrays.copyOf(timestamps, count);
+                batchOffsets = Arrays.copyOf(offsets, count);
+                batchLengths = Arrays.copyOf(lengths, count);
+                batchPayload = Arrays.copyOf(payload, payloadSize);
+
+                count = 0;
+                payloadSize = 0;
+                addresses.clear();
+                characteristicUUIDs.clear();
+            }
+
+            callback.onDataBatchReceived(batchCount, batchAddresses, batchCharacteristics,
+                    batchAddressIndices, batchCharacteristicIndices,
+                    batchTimestamps, batchOffsets, batchLengths, batchPayload);
+            return batchCount;
+        }
+    }
+
+    private void ensureCapacity(int packets, int bytes) {
+        if (packets > offsets.length) {
+            int newSize = Math.max(packets, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, newSize);
+            lengths = Arrays.copyOf(lengths, newSize);
+            addressIndices = Arrays.copyOf(addressIndices, newSize);
+            characteristicIndices = Arrays.copyOf(characteristicIndices, newSize);
+            timestamps = Arrays.copyOf(timestamps, newSize);
+        }
+        if (bytes > payload.length) {
+            payload = Arrays.copyOf(payload, Math.max(bytes, payload.length * 2));
+        }
+    }
+
+    private static int indexOf(ArrayList<String> table, String value) {
+        for (int i = 0; i < table.size(); i++) {
+            if (table.get(i).equals(value)) {
+                return i;
+            }
+        }
+        table.add(value);
+        return table.size() - 1;
+    }
+}
@@ -0,0 +1,271 @@
+package com.zentry.unity_bluetooth_plugin.delivery;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.zentry.unity_bluetooth_plugin.BLEManager;
+import com.zentry.unity_bluetooth_plugin.UnityBLEBridge;
+import com.zentry.unity_bluetooth_plugin.models.BLENotification;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+public class NotificationDispatcher {
+    private static final String TAG = "NotificationDispatcher";
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private static NotificationDispatcher instance;
+
+    private final ConcurrentHashMap<String, NotificationRing> rings = new ConcurrentHashMap<>();
+    private final Object snapshotLock = new Object();
+    private volatile NotificationRing[] ringSnapshot = new NotificationRing[0];
+    private final AtomicBoolean consumerParked = new AtomicBoolean(false);
+    private final NotificationPool pool = new NotificationPool();
+    private final ConcurrentHashMap<String, FragmentReassembler.Layout> reassemblyLayouts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, FragmentReassembler> reassemblers = new ConcurrentHashMap<>();
+
+    private volatile int ringCapacity = DEFAULT_CAPACITY;
+    private volatile int overflowPolicy = NotificationRing.POLICY_DROP_OLDEST;
+    private volatile Thread consumerThread;
+
+    private NotificationDispatcher() {
+    }
+
+    public static NotificationDispatcher getInstance() {
+        if (instance == null) {
+            synchronized (NotificationDispatcher.class) {
+                if (instance == null) {
+                    instance = new NotificationDispatcher();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void setOverflowPolicy(int policy) {
+        if (policy < NotificationRing.POLICY_DROP_OLDEST || policy > NotificationRing.POLICY_BLOCK) {
+            Log.w(TAG, "Invalid overflow policy: " + policy);
+            return;
+        }
+        overflowPolicy = policy;
+        Log.d(TAG, "Overflow policy set: " + policy + " (applies to new connections)");
+    }
+
+    public void setRingCapacity(int capacity) {
+        if (capacity <= 0 || capacity > NotificationRing.MAX_CAPACITY) {
+            Log.w(TAG, "Invalid ring capacity: " + capacity + " (1~" + NotificationRing.MAX_CAPACITY + ")");
+            return;
+        }
+        ringCapacity = capacity;
+        Log.d(TAG, "Ring capacity set: " + capacity + " (applies to new connections)");
+    }
+
+    // characteristicUUID 는 대문자 전체 UUID, layout 이 null 이면 재조립 해제
+    public void setReassemblyLayout(String characteristicUUID, FragmentReassembler.Layout layout) {
+        if (layout == null) {
+            reassemblyLayouts.remove(characteristicUUID);
+            Log.d(TAG, "Reassembly disabled: " + characteristicUUID);
+            return;
+        }
+        reassemblyLayouts.put(characteristicUUID, layout);
+        Log.d(TAG, "Reassembly enabled: " + characteristicUUID);
+    }
+
+    public long[] getReassemblyStats(String address) {
+        FragmentReassembler reassembler = reassemblers.get(address);
+        return reassembler != null ? reassembler.getStats() : null;
+    }
+
+    // GATT 콜백 스레드에서 호출: 풀 버퍼로 복사해 링에 넣고 즉시 반환 (정상 상태 무할당)
+    // 링은 openDevice ~ closeDevice 사이에만 존재, 그 밖에 도착한 패킷(해제와 경합한 늦은 콜백)은 버림
+    public void enqueue(String address, String characteristicUUID, byte[] value) {
+        NotificationRing ring = rings.get(address);
+        if (ring == null) {
+            return;
+        }
+
+        if (!reassemblyLayouts.isEmpty()) {
+            FragmentReassembler.Layout layout = reassemblyLayouts.get(characteristicUUID);
+            if (layout != null) {
+                FragmentReassembler reassembler = getReassembler(address);
+                if (reassembler != null && reassembler.accept(characteristicUUID, layout, value, SystemClock.elapsedRealtimeNanos())) {
+                    enqueue(ring, address, characteristicUUID, reassembler.getFrame(), 0, reassembler.getFrameLength());
+                }
+                return;
+            }
+        }
+
+        enqueue(ring, address, characteristicUUID, value, 0, value.length);
+    }
+
+    private void enqueue(NotificationRing ring, String address, String characteristicUUID, byte[] value, int offset, int length) {
+        BLENotification notification = pool.obtain(address, characteristicUUID, value, offset, length, SystemClock.elapsedRealtimeNanos());
+        if (ring.offer(notification)) {
+            if (consumerParked.get()) {
+                LockSupport.unpark(consumerThread);
+            }
+        } else {
+            pool.recycle(notification);
+        }
+    }
+
+    // 연결 완료 시 호출
+    public void openDevice(String address) {
+        openRing(address);
+    }
+
+    public void closeDevice(String address) {
+        NotificationRing ring = rings.remove(address);
+        reassemblers.remove(address);
+        if (ring != null) {
+            ring.close();
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    public long[] getStats(String address) {
+        NotificationRing ring = rings.get(address);
+        return ring != null ? ring.getStats() : null;
+    }
+
+    public long[] getPoolStats() {
+        return pool.getAllocationStats();
+    }
+
+    public long getOverflowCount(String address) {
+        NotificationRing ring = rings.get(address);
+        return ring != null ? ring.getOverflowCount() : 0;
+    }
+
+    // closeDevice 와 경합해 해제된 디바이스의 재조립기를 만들었으면 되돌리고 null
+    private FragmentReassembler getReassembler(String address) {
+        FragmentReassembler reassembler = reassemblers.get(address);
+        if (reassembler == null) {
+            FragmentReassembler created = new FragmentReassembler();
+            reassembler = reassemblers.putIfAbsent(address, created);
+            if (reassembler == null) {
+                reassembler = created;
+                if (!rings.containsKey(address)) {
+                    reassemblers.remove(address, created);
+                    return null;
+                }
+            }
+        }
+        return reassembler;
+    }
+
+    private NotificationRing openRing(String address) {
+        synchronized (snapshotLock) {
+            NotificationRing ring = rings.get(address);
+            if (ring != null) {
+                return ring;
+            }
+
+            ring = new NotificationRing(address, ringCapacity, overflowPolicy, pool);
+            rings.put(address, ring);
+
+            NotificationRing[] current = ringSnapshot;
+            NotificationRing[] next = new NotificationRing[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = ring;
+            ringSnapshot = next;
+
+            startConsumer();
+            Log.d(TAG, "Notification ring opened: " + address + " (capacity: " + ring.getCapacity() + ", policy: " + overflowPolicy + ")");
+            return ring;
+        }
+    }
+
+    private void removeFromSnapshot(NotificationRing ring) {
+        synchronized (snapshotLock) {
+            NotificationRing[] current = ringSnapshot;
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == ring) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+
+            NotificationRing[] next = new NotificationRing[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            ringSnapshot = next;
+        }
+    }
+
+    private void startConsumer() {
+        if (consumerThread != null) {
+            return;
+        }
+
+        consumerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                consumeLoop();
+            }
+        }, "BLE-NotificationDispatcher");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+    }
+
+    private void consumeLoop() {
+        while (true) {
+            int delivered = 0;
+            NotificationRing[] snapshot = ringSnapshot;
+
+            for (NotificationRing ring : snapshot) {
+                delivered += drain(ring);
+                if (ring.isClosed() && ring.isEmpty()) {
+                    removeFromSnapshot(ring);
+                }
+            }
+
+            long untilFlush = BLEManager.getInstance().getBridge().flushDataBatchIfDue();
+
+            // 할 일이 없으면 enqueue/closeDevice 의 unpark 까지 대기 (배치 flush 기한이 있으면 그때까지만)
+            if (delivered == 0) {
+                consumerParked.set(true);
+                if (!hasPending()) {
+                    if (untilFlush == Long.MAX_VALUE) {
+                        LockSupport.park(this);
+                    } else {
+                        LockSupport.parkNanos(this, untilFlush);
+                    }
+                }
+                consumerParked.set(false);
+            }
+        }
+    }
+
+    private int drain(NotificationRing ring) {
+        UnityBLEBridge bridge = BLEManager.getInstance().getBridge();
+        int count = 0;
+        BLENotification notification;
+
+        while ((notification = ring.poll()) != null) {
+            try {
+                bridge.sendDataReceived(notification.getAddress(), notification.getCharacteristicUUID(),
+                        notification.getData(), notification.getTimestampNanos());
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to deliver notification: " + notification.getAddress(), e);
+            }
+            pool.recycle(notification);
+            count++;
+        }
+        return count;
+    }
+
+    private boolean hasPending() {
+        for (NotificationRing ring : ringSnapshot) {
+            if (!ring.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
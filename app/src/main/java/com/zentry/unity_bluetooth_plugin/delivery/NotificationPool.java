@@ -0,0 +1,103 @@
+package com.zentry.unity_bluetooth_plugin.delivery;
+
+import com.zentry.unity_bluetooth_plugin.models.BLENotification;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 수신 경로 무할당화를 위한 풀
+// byte[] 는 정확한 길이별 size class 로 관리 (특성별 패킷 길이가 고정이라 raw 콜백에 그대로 전달 가능)
+public class NotificationPool {
+    public static final int MAX_POOLED_LENGTH = 4096;
+    private static final int MAX_BUFFERS_PER_CLASS = 64;
+    private static final int MAX_POOLED_NOTIFICATIONS = 1024;
+
+    private final byte[][][] bufferClasses = new byte[MAX_POOLED_LENGTH + 1][][];
+    private final int[] bufferCounts = new int[MAX_POOLED_LENGTH + 1];
+    private final BLENotification[] notifications = new BLENotification[MAX_POOLED_NOTIFICATIONS];
+    private int notificationCount = 0;
+
+    private final AtomicLong bufferAllocations = new AtomicLong();
+    private final AtomicLong notificationAllocations = new AtomicLong();
+
+    public BLENotification obtain(String address, String characteristicUUID, byte[] source, long timestampNanos) {
+        return obtain(address, characteristicUUID, source, 0, source.length, timestampNanos);
+    }
+
+    public BLENotification obtain(String address, String characteristicUUID, byte[] source, int offset, int length, long timestampNanos) {
+        byte[] data = acquireBuffer(length);
+        System.arraycopy(source, offset, data, 0, length);
+
+        BLENotification notification = null;
+        synchronized (notifications) {
+            if (notificationCount > 0) {
+                notification = notifications[--notificationCount];
+                notifications[notificationCount] = null;
+            }
+        }
+        if (notification == null) {
+            notification = new BLENotification();
+            notificationAllocations.incrementAndGet();
+        }
+
+        notification.set(address, characteristicUUID, data, timestampNanos);
+        return notification;
+    }
+
+    public void recycle(BLENotification notification) {
+        if (notification == null) {
+            return;
+        }
+
+        releaseBuffer(notification.getData());
+        notification.clear();
+
+        synchronized (notifications) {
+            if (notificationCount < MAX_POOLED_NOTIFICATIONS) {
+                notifications[notificationCount++] = notification;
+            }
+        }
+    }
+
+    public byte[] acquireBuffer(int length) {
+        if (length <= MAX_POOLED_LENGTH) {
+            synchronized (bufferClasses) {
+                int count = bufferCounts[length];
+                if (count > 0) {
+                    byte[][] stack = bufferClasses[length];
+                    byte[] buffer = stack[count - 1];
+                    stack[count - 1] = null;
+                    bufferCounts[length] = count - 1;
+                    return buffer;
+                }
+            }
+        }
+
+        bufferAllocations.incrementAndGet();
+        return new byte[length];
+    }
+
+    public void releaseBuffer(byte[] buffer) {
+        if (buffer == null || buffer.length > MAX_POOLED_LENGTH) {
+            return;
+        }
+
+        int length = buffer.length;
+        synchronized (bufferClasses) {
+            byte[][] stack = bufferClasses[length];
+            if (stack == null) {
+                stack = new byte[MAX_BUFFERS_PER_CLASS][];
+                bufferClasses[length] = stack;
+            }
+            int count = bufferCounts[length];
+            if (count < MAX_BUFFERS_PER_CLASS) {
+                stack[count] = buffer;
+                bufferCounts[length] = count + 1;
+            }
+        }
+    }
+
+    // 정상 상태에서는 증가하지 않아야 함
+    public long[] getAllocationStats() {
+        return new long[]{bufferAllocations.get(), notificationAllocations.get()};
+    }
+}
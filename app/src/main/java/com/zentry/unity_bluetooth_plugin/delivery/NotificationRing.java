@@ -0,0 +1,140 @@
+package com.zentry.unity_bluetooth_plugin.delivery;
+
+import com.zentry.unity_bluetooth_plugin.models.BLENotification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+// 디바이스별 단일 생산자(GATT 콜백) / 단일 소비자(NotificationDispatcher) 링 버퍼
+public class NotificationRing {
+    public static final int POLICY_DROP_OLDEST = 0;
+    public static final int POLICY_DROP_NEWEST = 1;
+    public static final int POLICY_BLOCK = 2;
+    // 링 하나가 잡는 슬롯 상한 (2의 거듭제곱으로 올릴 때 int 오버플로 방지)
+    public static final int MAX_CAPACITY = 1 << 16;
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long BLOCK_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final String address;
+    private final AtomicReferenceArray<BLENotification> slots;
+    private final int capacity;
+    private final int mask;
+    private final int policy;
+    private final NotificationPool pool;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private volatile boolean closed = false;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedOldestCount = new AtomicLong();
+    private final AtomicLong droppedNewestCount = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+
+    public NotificationRing(String address, int requestedCapacity, int policy, NotificationPool pool) {
+        int size = 1;
+        while (size < Math.min(requestedCapacity, MAX_CAPACITY)) {
+            size <<= 1;
+        }
+        this.address = address;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.policy = policy;
+        this.pool = pool;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    public boolean offer(BLENotification notification) {
+        if (closed) {
+            return false;
+        }
+
+        long t = tail.get();
+        long blockStart = 0;
+
+        while (t - head.get() >= capacity) {
+            if (policy == POLICY_DROP_NEWEST) {
+                droppedNewestCount.incrementAndGet();
+                return false;
+            }
+
+            if (policy == POLICY_DROP_OLDEST) {
+                long h = head.get();
+                if (t - h >= capacity && head.compareAndSet(h, h + 1)) {
+                    droppedOldestCount.incrementAndGet();
+                    pool.recycle(slots.get((int) (h & mask)));
+                }
+                continue;
+            }
+
+            // POLICY_BLOCK: 콜백 스레드를 무한정 막지 않도록 최대 BLOCK_TIMEOUT 후 최신 패킷 폐기
+            if (blockStart == 0) {
+                blockStart = System.nanoTime();
+                blockedCount.incrementAndGet();
+            } else if (closed || System.nanoTime() - blockStart > BLOCK_TIMEOUT_NANOS) {
+                droppedNewestCount.incrementAndGet();
+                return false;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+
+        slots.set((int) (t & mask), notification);
+        tail.set(t + 1);
+        enqueuedCount.incrementAndGet();
+        return true;
+    }
+
+    public BLENotification poll() {
+        while (true) {
+            long h = head.get();
+            if (h >= tail.get()) {
+                return null;
+            }
+
+            BLENotification notification = slots.get((int) (h & mask));
+            if (head.compareAndSet(h, h + 1)) {
+                deliveredCount.incrementAndGet();
+                return notification;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    public void close() {
+        closed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getOverflowCount() {
+        return droppedOldestCount.get() + droppedNewestCount.get();
+    }
+
+    public long[] getStats() {
+        return new long[]{
+            enqueuedCount.get(),
+            deliveredCount.get(),
+            droppedOldestCount.get(),
+            droppedNewestCount.get(),
+            blockedCount.get(),
+            Math.max(0, tail.get() - head.get())
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.zentry.unity_bluetooth_plugin.delivery;
+
+import android.util.Log;
+
+import com.zentry.unity_bluetooth_plugin.utils.IdentifierTable;
+import com.zentry.unity_bluetooth_plugin.utils.MemoryFence;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Unity 와 공유하는 off-heap SPSC 링 버퍼
+//
+// Header (64 bytes, native byte order)
+//   0  int  MAGIC ('BLER')
+//   4  int  VERSION
+//   8  int  data capacity (bytes)
+//   16 long write index (plugin 이 기록, 누적 바이트 위치)
+//   32 long read index  (Unity 가 기록, 누적 바이트 위치)
+//   48 long dropped record count
+// Record (8 byte 정렬, 링 끝에서 잘리지 않음)
+//   0  int   payload length (WRAP_MARKER 이면 버퍼 처음으로 이동)
+//   4  ushort address index (0 ~ MAX_INDEX, 이벤트는 Notification 을 받은 적 없는 주소면 EVENT_INDEX)
+//   6  ushort characteristic index (EVENT_INDEX 이면 payload 는 BinaryEventEncoder 이벤트)
+//   8  long  timestamp (elapsedRealtimeNanos)
+//   16 byte[length] payload
+//
+// 메모리 순서: plugin 은 레코드 기록 → release 펜스 → write index 기록
+// Unity 는 write index 를 acquire 로 읽은 뒤 레코드를 읽고 (C#: Volatile.Read / Interlocked.Read),
+// 레코드를 다 읽은 뒤 read index 를 release 로 기록해야 함 (C#: Volatile.Write)
+public class SharedNotificationBuffer {
+    private static final String TAG = "SharedNotificationBuffer";
+
+    public static final int MAGIC = 0x424C4552;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int CAPACITY_OFFSET = 8;
+    public static final int WRITE_INDEX_OFFSET = 16;
+    public static final int READ_INDEX_OFFSET = 32;
+    public static final int DROPPED_OFFSET = 48;
+    public static final int RECORD_HEADER_SIZE = 16;
+    public static final int WRAP_MARKER = -1;
+    public static final int EVENT_INDEX = 0xFFFF;
+    public static final int MAX_INDEX = EVENT_INDEX - 1;
+
+    private static final int MIN_CAPACITY = 4 * 1024;
+
+    private final ByteBuffer buffer;
+    private final ByteBuffer writer;
+    private final int capacity;
+    private final IdentifierTable addressTable;
+    private final IdentifierTable characteristicTable;
+
+    private long writeIndex = 0;
+    private long droppedCount = 0;
+    private boolean indexOverflowLogged = false;
+
+    public SharedNotificationBuffer(int requestedCapacity, IdentifierTable addressTable, IdentifierTable characteristicTable) {
+        int size = MIN_CAPACITY;
+        while (size < requestedCapacity) {
+            size <<= 1;
+        }
+
+        this.capacity = size;
+        this.addressTable = addressTable;
+        this.characteristicTable = characteristicTable;
+        this.buffer = ByteBuffer.allocateDirect(HEADER_SIZE + size).order(ByteOrder.nativeOrder());
+
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(CAPACITY_OFFSET, size);
+        buffer.putLong(WRITE_INDEX_OFFSET, 0);
+        buffer.putLong(READ_INDEX_OFFSET, 0);
+        buffer.putLong(DROPPED_OFFSET, 0);
+        this.writer = buffer.duplicate();
+
+        Log.d(TAG, "Shared buffer allocated: " + size + " bytes");
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    // 공간이 부족하면 레코드를 버리고 false 반환 (Unity 쪽 읽기를 기다리지 않음)
+    // 인덱스 테이블이 가득 차 새 주소/특성에 인덱스를 줄 수 없어도 버림
+    public synchronized boolean write(String address, String characteristicUUID, byte[] data, long timestampNanos) {
+        int addressIndex = addressTable.indexOf(address);
+        int characteristicIndex = characteristicTable.indexOf(characteristicUUID);
+        if (addressIndex == IdentifierTable.NO_INDEX || characteristicIndex == IdentifierTable.NO_INDEX) {
+            if (!indexOverflowLogged) {
+                indexOverflowLogged = true;
+                Log.w(TAG, "Identifier table full, dropping records for new addresses/characteristics");
+            }
+            return drop();
+        }
+        return writeRecord(addressIndex, characteristicIndex, data, data != null ? data.length : 0, timestampNanos);
+    }
+
+    // 이벤트 payload 에 주소가 들어 있으므로 인덱스는 이미 등록된 주소일 때만 사용 (스캔된 주소는 등록하지 않음)
+    public synchronized boolean writeEvent(String address, byte[] event, int length, long timestampNanos) {
+        int addressIndex = address != null ? addressTable.find(address) : IdentifierTable.NO_INDEX;
+        if (addressIndex == IdentifierTable.NO_INDEX) {
+            addressIndex = EVENT_INDEX;
+        }
+        return writeRecord(addressIndex, EVENT_INDEX, event, length, timestampNanos);
+    }
+
+    private boolean writeRecord(int addressIndex, int characteristicIndex, byte[] data, int length, long timestampNanos) {
+        int recordSize = align(RECORD_HEADER_SIZE + length);
+        if (recordSize > capacity) {
+            return drop();
+        }
+
+        long readIndex = buffer.getLong(READ_INDEX_OFFSET);
+        // Unity 가 읽기를 마친 영역만 덮어쓰도록
+        MemoryFence.acquire();
+        int position = (int) (writeIndex % capacity);
+        int tailRoom = capacity - position;
+        int required = recordSize <= tailRoom ? recordSize : tailRoom + recordSize;
+
+        if (writeIndex + required - readIndex > capacity) {
+            return drop();
+        }
+
+        if (recordSize > tailRoom) {
+            buffer.putInt(HEADER_SIZE + position, WRAP_MARKER);
+            writeIndex += tailRoom;
+            position = 0;
+        }
+
+        int base = HEADER_SIZE + position;
+        buffer.putInt(base, length);
+        buffer.putShort(base + 4, (short) addressIndex);
+        buffer.putShort(base + 6, (short) characteristicIndex);
+        buffer.putLong(base + 8, timestampNanos);
+        if (length > 0) {
+            writer.position(base + RECORD_HEADER_SIZE);
+            writer.put(data, 0, length);
+        }
+
+        writeIndex += recordSize;
+        publish();
+        return true;
+    }
+
+    private boolean drop() {
+        droppedCount++;
+        buffer.putLong(DROPPED_OFFSET, droppedCount);
+        return false;
+    }
+
+    // 레코드 기록이 write index 보다 먼저 보이도록 release 펜스 후 기록
+    private void publish() {
+        MemoryFence.release();
+        buffer.putLong(WRITE_INDEX_OFFSET, writeIndex);
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+}
@@ -1,9 +1,7 @@
 package com.zentry.unity_bluetooth_plugin.gatt;
 
 import android.bluetooth.BluetoothGatt;
-import android.bluetooth.BluetoothGattCallback;
 import android.bluetooth.BluetoothGattCharacteristic;
-import android.bluetooth.BluetoothGattDescriptor;
 import android.bluetooth.BluetoothGattService;
 import android.os.Build;
 import android.util.Log;
@@ -11,25 +9,29 @@ import android.util.Log;
 import com.zentry.unity_bluetooth_plugin.BLEManager;
 import com.zentry.unity_bluetooth_plugin.UnityBLEBridge;
 import com.zentry.unity_bluetooth_plugin.connection.BLEConnectionManager;
-import com.zentry.unity_bluetooth_plugin.utils.ThreadHelper;
+import com.zentry.unity_bluetooth_plugin.delivery.NotificationPool;
 import com.zentry.unity_bluetooth_plugin.utils.UUIDConverter;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.ByteBuffer;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BLEGattManager {
     private static final String TAG = "BLEGattManager";
-    private static final String CCCD_UUID = "00002902-0000-1000-8000-00805F9B34FB";
     private static final int DEFAULT_MTU = 23;
     private static final int MAX_MTU = 512;
 
     private static BLEGattManager instance;
     private UnityBLEBridge bridge;
-    private Map<String, Map<String, BluetoothGattCallback>> characteristicCallbacks;
+    private final ConcurrentHashMap<String, GattRequestQueue> requestQueues;
+    private final ConcurrentHashMap<String, CharacteristicCache> characteristicCaches;
+    private final ConcurrentHashMap<String, Integer> negotiatedMtus;
+    private final NotificationPool writeBuffers = new NotificationPool();
 
     private BLEGattManager() {
-        characteristicCallbacks = new HashMap<>();
+        requestQueues = new ConcurrentHashMap<>();
+        characteristicCaches = new ConcurrentHashMap<>();
+        negotiatedMtus = new ConcurrentHashMap<>();
     }
 
     public static BLEGattManager getInstance() {
@@ -60,44 +62,12 @@ public class BLEGattManager {
             return;
         }
 
-        String normalizedServiceUUID = UUIDConverter.normalize(serviceUUID);
-        String normalizedCharUUID = UUIDConverter.normalize(characteristicUUID);
-
-        BluetoothGattService service = gatt.getService(UUID.fromString(normalizedServiceUUID));
-        if (service == null) {
-            bridge.sendError("Service not found: " + serviceUUID);
-            return;
-        }
-
-        BluetoothGattCharacteristic characteristic = service.getCharacteristic(UUID.fromString(normalizedCharUUID));
+        BluetoothGattCharacteristic characteristic = resolveCharacteristic(address, gatt, serviceUUID, characteristicUUID, true);
         if (characteristic == null) {
-            bridge.sendError("Characteristic not found: " + characteristicUUID);
             return;
         }
 
-        ThreadHelper.runOnMainThread(new Runnable() {
-            @Override
-            public void run() {
-                boolean result = gatt.setCharacteristicNotification(characteristic, true);
-                if (!result) {
-                    bridge.sendError("Failed to enable notification for: " + characteristicUUID);
-                    return;
-                }
-
-                BluetoothGattDescriptor descriptor = characteristic.getDescriptor(UUID.fromString(CCCD_UUID));
-                if (descriptor != null) {
-                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
-                        gatt.writeDescriptor(descriptor, BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE);
-                    } else {
-                        descriptor.setValue(BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE);
-                        gatt.writeDescriptor(descriptor);
-                    }
-                    Log.d(TAG, "Subscription requested: " + characteristicUUID);
-                } else {
-                    Log.w(TAG, "CCCD descriptor not found for: " + characteristicUUID);
-                }
-            }
-        });
+        getQueue(address).enqueue(new SubscribeRequest(address, characteristic, characteristicUUID));
     }
 
     public static void UnSubscribeCharacteristic(String address, String serviceUUID, String characteristicUUID) {
@@ -115,36 +85,12 @@ public class BLEGattManager {
             return;
         }
 
-        String normalizedServiceUUID = UUIDConverter.normalize(serviceUUID);
-        String normalizedCharUUID = UUIDConverter.normalize(characteristicUUID);
-
-        BluetoothGattService service = gatt.getService(UUID.fromString(normalizedServiceUUID));
-        if (service == null) {
-            return;
-        }
-
-        BluetoothGattCharacteristic characteristic = service.getCharacteristic(UUID.fromString(normalizedCharUUID));
+        BluetoothGattCharacteristic characteristic = resolveCharacteristic(address, gatt, serviceUUID, characteristicUUID, false);
         if (characteristic == null) {
             return;
         }
 
-        ThreadHelper.runOnMainThread(new Runnable() {
-            @Override
-            public void run() {
-                gatt.setCharacteristicNotification(characteristic, false);
-
-                BluetoothGattDescriptor descriptor = characteristic.getDescriptor(UUID.fromString(CCCD_UUID));
-                if (descriptor != null) {
-                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
-                        gatt.writeDescriptor(descriptor, BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE);
-                    } else {
-                        descriptor.setValue(BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE);
-                        gatt.writeDescriptor(descriptor);
-                    }
-                    Log.d(TAG, "Unsubscription requested: " + characteristicUUID);
-                }
-            }
-        });
+        getQueue(address).enqueue(new UnsubscribeRequest(address, characteristic, characteristicUUID));
     }
 
     public static void ReadCharacteristic(String address, String serviceUUID, String characteristicUUID) {
@@ -163,33 +109,12 @@ public class BLEGattManager {
             return;
         }
 
-        String normalizedServiceUUID = UUIDConverter.normalize(serviceUUID);
-        String normalizedCharUUID = UUIDConverter.normalize(characteristicUUID);
-
-        BluetoothGattService service = gatt.getService(UUID.fromString(normalizedServiceUUID));
-        if (service == null) {
-            Log.e(TAG, "Service not found: " + serviceUUID);
-            bridge.sendError("Service not found: " + serviceUUID);
-            return;
-        }
-
-        BluetoothGattCharacteristic characteristic = service.getCharacteristic(UUID.fromString(normalizedCharUUID));
+        BluetoothGattCharacteristic characteristic = resolveCharacteristic(address, gatt, serviceUUID, characteristicUUID, true);
         if (characteristic == null) {
-            Log.e(TAG, "Characteristic not found: " + characteristicUUID);
-            bridge.sendError("Characteristic not found: " + characteristicUUID);
             return;
         }
 
-        ThreadHelper.runOnMainThread(new Runnable() {
-            @Override
-            public void run() {
-                boolean result = gatt.readCharacteristic(characteristic);
-                if (!result) {
-                    Log.e(TAG, "Failed to read characteristic: " + characteristicUUID);
-                    bridge.sendError("Failed to read characteristic: " + characteristicUUID);
-                }
-            }
-        });
+        getQueue(address).enqueue(new ReadRequest(address, characteristic, characteristicUUID));
     }
 
     public static void WriteCharacteristic(String address, String serviceUUID, String characteristicUUID, byte[] data, boolean withResponse) {
@@ -197,52 +122,159 @@ public class BLEGattManager {
         manager.writeInternal(address, serviceUUID, characteristicUUID, data, withResponse);
     }
 
+    // Unity 의 NativeArray 등 direct 버퍼: 풀 배열로 한 번만 복사하고 쓰기 완료 후 반환
+    public static void WriteCharacteristic(String address, String serviceUUID, String characteristicUUID, ByteBuffer buffer, int offset, int length, boolean withResponse) {
+        BLEGattManager manager = getInstance();
+        byte[] data = manager.copyToPooledBuffer(buffer, offset, length);
+        if (data != null) {
+            manager.writeInternal(address, serviceUUID, characteristicUUID, data, withResponse, manager.writeBuffers);
+        }
+    }
+
     private void writeInternal(String address, String serviceUUID, String characteristicUUID, byte[] data, boolean withResponse) {
+        writeInternal(address, serviceUUID, characteristicUUID, data, withResponse, null);
+    }
+
+    private void writeInternal(String address, String serviceUUID, String characteristicUUID, byte[] data, boolean withResponse, NotificationPool bufferPool) {
         bridge = BLEManager.getInstance().getBridge();
         BLEConnectionManager connectionManager = BLEConnectionManager.getInstance();
         BluetoothGatt gatt = connectionManager.getGatt(address);
 
         if (gatt == null) {
             bridge.sendError("Device not connected: " + address);
+            releaseWriteBuffer(data, bufferPool);
             return;
         }
 
-        String normalizedServiceUUID = UUIDConverter.normalize(serviceUUID);
-        String normalizedCharUUID = UUIDConverter.normalize(characteristicUUID);
+        BluetoothGattCharacteristic characteristic = resolveCharacteristic(address, gatt, serviceUUID, characteristicUUID, true);
+        if (characteristic == null) {
+            releaseWriteBuffer(data, bufferPool);
+            return;
+        }
 
-        BluetoothGattService service = gatt.getService(UUID.fromString(normalizedServiceUUID));
-        if (service == null) {
-            bridge.sendError("Service not found: " + serviceUUID);
+        getQueue(address).enqueue(new WriteRequest(address, characteristic, characteristicUUID, data, withResponse, bufferPool));
+    }
+
+    private byte[] copyToPooledBuffer(ByteBuffer buffer, int offset, int length) {
+        if (buffer == null || offset < 0 || length < 0 || offset > buffer.limit() - length) {
+            bridge = BLEManager.getInstance().getBridge();
+            Log.e(TAG, "Invalid write buffer range: offset " + offset + ", length " + length);
+            bridge.sendError("Invalid write buffer range: offset " + offset + ", length " + length);
+            return null;
+        }
+
+        byte[] data = writeBuffers.acquireBuffer(length);
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + offset, data, 0, length);
+        } else {
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(data, 0, length);
+        }
+        return data;
+    }
+
+    private void releaseWriteBuffer(byte[] data, NotificationPool bufferPool) {
+        if (bufferPool != null) {
+            bufferPool.releaseBuffer(data);
+        }
+    }
+
+    public static void SubscribeCharacteristicByHandle(int characteristicHandle) {
+        BLEGattManager manager = getInstance();
+        CharacteristicCache.Entry entry = manager.resolveHandle(characteristicHandle);
+        if (entry != null) {
+            String address = HandleRegistry.getInstance().getSlot(characteristicHandle).getAddress();
+            manager.getQueue(address).enqueue(new SubscribeRequest(address, entry.getCharacteristic(), entry.getCharacteristicUUID()));
+        }
+    }
+
+    public static void UnSubscribeCharacteristicByHandle(int characteristicHandle) {
+        BLEGattManager manager = getInstance();
+        CharacteristicCache.Entry entry = manager.resolveHandle(characteristicHandle);
+        if (entry != null) {
+            String address = HandleRegistry.getInstance().getSlot(characteristicHandle).getAddress();
+            manager.getQueue(address).enqueue(new UnsubscribeRequest(address, entry.getCharacteristic(), entry.getCharacteristicUUID()));
+        }
+    }
+
+    public static void ReadCharacteristicByHandle(int characteristicHandle) {
+        BLEGattManager manager = getInstance();
+        CharacteristicCache.Entry entry = manager.resolveHandle(characteristicHandle);
+        if (entry != null) {
+            String address = HandleRegistry.getInstance().getSlot(characteristicHandle).getAddress();
+            manager.getQueue(address).enqueue(new ReadRequest(address, entry.getCharacteristic(), entry.getCharacteristicUUID()));
+        }
+    }
+
+    public static void WriteCharacteristicByHandle(int characteristicHandle, byte[] data, boolean withResponse) {
+        BLEGattManager manager = getInstance();
+        CharacteristicCache.Entry entry = manager.resolveHandle(characteristicHandle);
+        if (entry != null) {
+            String address = HandleRegistry.getInstance().getSlot(characteristicHandle).getAddress();
+            manager.getQueue(address).enqueue(new WriteRequest(address, entry.getCharacteristic(), entry.getCharacteristicUUID(), data, withResponse));
+        }
+    }
+
+    public static void WriteCharacteristicByHandle(int characteristicHandle, ByteBuffer buffer, int offset, int length, boolean withResponse) {
+        BLEGattManager manager = getInstance();
+        CharacteristicCache.Entry entry = manager.resolveHandle(characteristicHandle);
+        if (entry == null) {
             return;
         }
 
-        BluetoothGattCharacteristic characteristic = service.getCharacteristic(UUID.fromString(normalizedCharUUID));
-        if (characteristic == null) {
-            bridge.sendError("Characteristic not found: " + characteristicUUID);
+        byte[] data = manager.copyToPooledBuffer(buffer, offset, length);
+        if (data != null) {
+            String address = HandleRegistry.getInstance().getSlot(characteristicHandle).getAddress();
+            manager.getQueue(address).enqueue(new WriteRequest(address, entry.getCharacteristic(), entry.getCharacteristicUUID(), data, withResponse, manager.writeBuffers));
+        }
+    }
+
+    // 서비스 탐색 전이거나 주소/UUID 가 없으면 INVALID_HANDLE
+    public static int GetCharacteristicHandle(String address, String serviceUUID, String characteristicUUID) {
+        CharacteristicCache cache = getInstance().characteristicCaches.get(address);
+        if (cache == null) {
+            return HandleRegistry.INVALID_HANDLE;
+        }
+
+        CharacteristicCache.Entry entry = cache.get(serviceUUID, characteristicUUID);
+        if (entry == null) {
+            entry = cache.get(UUIDConverter.normalize(serviceUUID), UUIDConverter.normalize(characteristicUUID));
+        }
+        return HandleRegistry.getInstance().getCharacteristicHandle(address, entry);
+    }
+
+    // 큰 버퍼를 MTU 크기 청크로 나눠 전송, 진행/완료는 OnWriteStreamProgress / OnWriteStreamCompleted 이벤트로 전달
+    public static void WriteStream(String address, String serviceUUID, String characteristicUUID, byte[] data, boolean withResponse) {
+        BLEGattManager manager = getInstance();
+        manager.writeStreamInternal(address, serviceUUID, characteristicUUID, data, withResponse);
+    }
+
+    private void writeStreamInternal(String address, String serviceUUID, String characteristicUUID, byte[] data, boolean withResponse) {
+        bridge = BLEManager.getInstance().getBridge();
+        BLEConnectionManager connectionManager = BLEConnectionManager.getInstance();
+        BluetoothGatt gatt = connectionManager.getGatt(address);
+
+        if (gatt == null) {
+            bridge.sendError("Device not connected: " + address);
             return;
         }
 
-        ThreadHelper.runOnMainThread(new Runnable() {
-            @Override
-            public void run() {
-                int writeType = withResponse ? BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT : BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE;
+        BluetoothGattCharacteristic characteristic = resolveCharacteristic(address, gatt, serviceUUID, characteristicUUID, true);
+        if (characteristic == null) {
+            return;
+        }
 
-                boolean result;
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
-                    int status = gatt.writeCharacteristic(characteristic, data, writeType);
-                    result = (status == 0);
-                } else {
-                    characteristic.setValue(data);
-                    characteristic.setWriteType(writeType);
-                    result = gatt.writeCharacteristic(characteristic);
-                }
+        getQueue(address).enqueue(new WriteStreamRequest(address, characteristic, characteristicUUID, data, withResponse));
+    }
 
-                if (!result) {
-                    bridge.sendError("Failed to write characteristic: " + characteristicUUID);
-                }
-                Log.d(TAG, "Write requested: " + characteristicUUID + " (" + data.length + " bytes)");
-            }
-        });
+    public static void WriteStreamByHandle(int characteristicHandle, byte[] data, boolean withResponse) {
+        BLEGattManager manager = getInstance();
+        CharacteristicCache.Entry entry = manager.resolveHandle(characteristicHandle);
+        if (entry != null) {
+            String address = HandleRegistry.getInstance().getSlot(characteristicHandle).getAddress();
+            manager.getQueue(address).enqueue(new WriteStreamRequest(address, entry.getCharacteristic(), entry.getCharacteristicUUID(), data, withResponse));
+        }
     }
 
     public static void RequestMtu(String address, int mtu) {
@@ -265,15 +297,7 @@ public class BLEGattManager {
             return;
         }
 
-        ThreadHelper.runOnMainThread(new Runnable() {
-            @Override
-            public void run() {
-                boolean result = gatt.readRemoteRssi();
-                if (!result) {
-                    bridge.sendError("Failed to read RSSI: " + address);
-                }
-            }
-        });
+        getQueue(address).enqueue(new RssiRequest(address));
     }
 
     private void requestMtuInternal(String address, int mtu) {
@@ -294,15 +318,130 @@ public class BLEGattManager {
 
         int requestMtu = Math.min(mtu, MAX_MTU);
 
-        ThreadHelper.runOnMainThread(new Runnable() {
-            @Override
-            public void run() {
-                boolean result = gatt.requestMtu(requestMtu);
-                if (!result) {
-                    bridge.sendError("Failed to request MTU: " + requestMtu);
-                }
-                Log.d(TAG, "MTU requested: " + requestMtu);
+        getQueue(address).enqueue(new MtuRequest(address, requestMtu));
+    }
+
+    private BluetoothGattCharacteristic resolveCharacteristic(String address, BluetoothGatt gatt, String serviceUUID, String characteristicUUID, boolean reportErrors) {
+        CharacteristicCache cache = characteristicCaches.get(address);
+        if (cache == null) {
+            // 서비스 탐색 완료(OnServicesReady) 전: 캐시로 먼저 전달한 테이블의 특성도 아직 사용할 수 없음
+            if (reportErrors) {
+                Log.e(TAG, "Services not ready: " + address);
+                bridge.sendError("Services not ready: " + address);
+            }
+            return null;
+        }
+
+        CharacteristicCache.Entry entry = cache.get(serviceUUID, characteristicUUID);
+        if (entry != null) {
+            return entry.getCharacteristic();
+        }
+
+        String normalizedServiceUUID = UUIDConverter.normalize(serviceUUID);
+        String normalizedCharUUID = UUIDConverter.normalize(characteristicUUID);
+
+        BluetoothGattService service = gatt.getService(UUID.fromString(normalizedServiceUUID));
+        if (service == null) {
+            if (reportErrors) {
+                Log.e(TAG, "Service not found: " + serviceUUID);
+                bridge.sendError("Service not found: " + serviceUUID);
+            }
+            return null;
+        }
+
+        BluetoothGattCharacteristic characteristic = service.getCharacteristic(UUID.fromString(normalizedCharUUID));
+        if (characteristic == null) {
+            if (reportErrors) {
+                Log.e(TAG, "Characteristic not found: " + characteristicUUID);
+                bridge.sendError("Characteristic not found: " + characteristicUUID);
+            }
+            return null;
+        }
+
+        cache.put(serviceUUID, characteristicUUID, characteristic);
+        return characteristic;
+    }
+
+    private CharacteristicCache.Entry resolveHandle(int characteristicHandle) {
+        bridge = BLEManager.getInstance().getBridge();
+        HandleRegistry.CharacteristicSlot slot = HandleRegistry.getInstance().getSlot(characteristicHandle);
+        if (slot == null) {
+            Log.e(TAG, "Invalid characteristic handle: " + characteristicHandle);
+            bridge.sendError("Invalid characteristic handle: " + characteristicHandle);
+            return null;
+        }
+
+        if (!BLEConnectionManager.getInstance().isConnected(slot.getAddress())) {
+            bridge.sendError("Device not connected: " + slot.getAddress());
+            return null;
+        }
+
+        CharacteristicCache.Entry entry = slot.getEntry();
+        if (entry == null) {
+            bridge.sendError("Services not ready: " + slot.getAddress());
+            return null;
+        }
+        return entry;
+    }
+
+    public static void onServicesDiscovered(String address, BluetoothGatt gatt) {
+        BLEGattManager manager = getInstance();
+        CharacteristicCache cache = CharacteristicCache.build(gatt);
+        manager.characteristicCaches.put(address, cache);
+        HandleRegistry.getInstance().register(address, cache);
+        Log.d(TAG, "Characteristic cache built: " + address + " (" + cache.size() + " keys)");
+    }
+
+    public static void invalidateCache(String address) {
+        BLEGattManager manager = getInstance();
+        HandleRegistry.getInstance().unregister(address);
+        if (manager.characteristicCaches.remove(address) != null) {
+            Log.d(TAG, "Characteristic cache invalidated: " + address);
+        }
+    }
+
+    public static CharacteristicCache getCharacteristicCache(String address) {
+        return getInstance().characteristicCaches.get(address);
+    }
+
+    public static void onMtuChanged(String address, int mtu) {
+        getInstance().negotiatedMtus.put(address, mtu);
+    }
+
+    public static void resetMtu(String address) {
+        getInstance().negotiatedMtus.remove(address);
+    }
+
+    public static int getMtu(String address) {
+        Integer mtu = getInstance().negotiatedMtus.get(address);
+        return mtu != null ? mtu : DEFAULT_MTU;
+    }
+
+    public static void onRequestComplete(String address, int requestType, boolean success) {
+        BLEGattManager manager = getInstance();
+        GattRequestQueue queue = manager.requestQueues.get(address);
+        if (queue != null) {
+            queue.onRequestComplete(requestType, success);
+        }
+    }
+
+    public static void clearRequests(String address) {
+        BLEGattManager manager = getInstance();
+        GattRequestQueue queue = manager.requestQueues.remove(address);
+        if (queue != null) {
+            queue.clear();
+        }
+    }
+
+    private GattRequestQueue getQueue(String address) {
+        GattRequestQueue queue = requestQueues.get(address);
+        if (queue == null) {
+            GattRequestQueue newQueue = new GattRequestQueue(address);
+            queue = requestQueues.putIfAbsent(address, newQueue);
+            if (queue == null) {
+                queue = newQueue;
             }
-        });
+        }
+        return queue;
     }
 }
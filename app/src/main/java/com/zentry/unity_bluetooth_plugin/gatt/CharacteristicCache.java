@@ -0,0 +1,130 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattService;
+
+import com.zentry.unity_bluetooth_plugin.utils.UUIDConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// onServicesDiscovered 시점에 만들어지는 연결별 (service, characteristic) → 특성 캐시
+// Unity 가 넘기는 문자열 그대로를 키로 사용해 normalize/UUID 파싱/getService 를 건너뜀
+public class CharacteristicCache {
+    private static final String BASE_UUID_SUFFIX = "-0000-1000-8000-00805F9B34FB";
+
+    public static class Entry {
+        private final BluetoothGattCharacteristic characteristic;
+        private final String serviceUUID;
+        private final String characteristicUUID;
+        private final int properties;
+
+        Entry(BluetoothGattCharacteristic characteristic, String serviceUUID, String characteristicUUID) {
+            this.characteristic = characteristic;
+            this.serviceUUID = serviceUUID;
+            this.characteristicUUID = characteristicUUID;
+            this.properties = characteristic.getProperties();
+        }
+
+        public BluetoothGattCharacteristic getCharacteristic() {
+            return characteristic;
+        }
+
+        public String getServiceUUID() {
+            return serviceUUID;
+        }
+
+        public String getCharacteristicUUID() {
+            return characteristicUUID;
+        }
+
+        public int getProperties() {
+            return properties;
+        }
+
+        public boolean hasProperty(int property) {
+            return (properties & property) != 0;
+        }
+    }
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Entry>> entries = new ConcurrentHashMap<>();
+    private final ArrayList<Entry> discovered = new ArrayList<>();
+
+    public static CharacteristicCache build(BluetoothGatt gatt) {
+        CharacteristicCache cache = new CharacteristicCache();
+        List<BluetoothGattService> services = gatt.getServices();
+        if (services == null) {
+            return cache;
+        }
+
+        for (BluetoothGattService service : services) {
+            String serviceUUID = UUIDConverter.toUpperString(service.getUuid());
+            for (BluetoothGattCharacteristic characteristic : service.getCharacteristics()) {
+                String characteristicUUID = UUIDConverter.toUpperString(characteristic.getUuid());
+                Entry entry = new Entry(characteristic, serviceUUID, characteristicUUID);
+                cache.discovered.add(entry);
+
+                for (String serviceKey : keyVariants(serviceUUID)) {
+                    for (String characteristicKey : keyVariants(characteristicUUID)) {
+                        cache.putIfAbsent(serviceKey, characteristicKey, entry);
+                    }
+                }
+            }
+        }
+        return cache;
+    }
+
+    public Entry get(String serviceUUID, String characteristicUUID) {
+        if (serviceUUID == null || characteristicUUID == null) {
+            return null;
+        }
+
+        ConcurrentHashMap<String, Entry> characteristics = entries.get(serviceUUID);
+        return characteristics != null ? characteristics.get(characteristicUUID) : null;
+    }
+
+    // 캐시 미스 후 느린 경로로 찾은 결과를 호출자 문자열 키로 기억
+    public Entry put(String serviceKey, String characteristicKey, BluetoothGattCharacteristic characteristic) {
+        Entry entry = new Entry(characteristic,
+                UUIDConverter.toUpperString(characteristic.getService().getUuid()),
+                UUIDConverter.toUpperString(characteristic.getUuid()));
+        putIfAbsent(serviceKey, characteristicKey, entry);
+        return entry;
+    }
+
+    // 탐색 순서대로의 특성 목록 (별칭 키 제외)
+    public List<Entry> getDiscoveredEntries() {
+        return discovered;
+    }
+
+    public int size() {
+        int count = 0;
+        for (ConcurrentHashMap<String, Entry> characteristics : entries.values()) {
+            count += characteristics.size();
+        }
+        return count;
+    }
+
+    private void putIfAbsent(String serviceKey, String characteristicKey, Entry entry) {
+        ConcurrentHashMap<String, Entry> characteristics = entries.get(serviceKey);
+        if (characteristics == null) {
+            ConcurrentHashMap<String, Entry> created = new ConcurrentHashMap<>();
+            characteristics = entries.putIfAbsent(serviceKey, created);
+            if (characteristics == null) {
+                characteristics = created;
+            }
+        }
+        characteristics.putIfAbsent(characteristicKey, entry);
+    }
+
+    private static String[] keyVariants(String upperUUID) {
+        String lowerUUID = upperUUID.toLowerCase();
+        if (upperUUID.startsWith("0000") && upperUUID.endsWith(BASE_UUID_SUFFIX)) {
+            String shortUUID = upperUUID.substring(4, 8);
+            return new String[]{upperUUID, lowerUUID, shortUUID, shortUUID.toLowerCase()};
+        }
+        return new String[]{upperUUID, lowerUUID};
+    }
+}
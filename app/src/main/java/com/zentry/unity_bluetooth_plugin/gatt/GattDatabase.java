@@ -0,0 +1,233 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+// 디바이스의 서비스/특성/디스크립터 테이블 (UUID, properties), 디스크 캐시와 변경 검증, OnGattTable 페이로드용
+public class GattDatabase {
+    private static final int FORMAT_VERSION = 2;
+    private static final long BASE_UUID_MSB_MASK = 0xFFFF0000FFFFFFFFL;
+    private static final long BASE_UUID_MSB = 0x0000000000001000L;
+    private static final long BASE_UUID_LSB = 0x800000805F9B34FBL;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String address;
+    private final UUID[] services;
+    private final UUID[][] characteristics;
+    private final int[][] properties;
+    private final UUID[][][] descriptors;
+    private final long hash;
+
+    GattDatabase(String address, UUID[] services, UUID[][] characteristics, int[][] properties, UUID[][][] descriptors) {
+        this.address = address;
+        this.services = services;
+        this.characteristics = characteristics;
+        this.properties = properties;
+        this.descriptors = descriptors;
+        this.hash = computeHash();
+    }
+
+    public static GattDatabase fromServices(String address, List<BluetoothGattService> gattServices) {
+        int serviceCount = gattServices != null ? gattServices.size() : 0;
+        UUID[] services = new UUID[serviceCount];
+        UUID[][] characteristics = new UUID[serviceCount][];
+        int[][] properties = new int[serviceCount][];
+        UUID[][][] descriptors = new UUID[serviceCount][][];
+
+        for (int i = 0; i < serviceCount; i++) {
+            BluetoothGattService service = gattServices.get(i);
+            List<BluetoothGattCharacteristic> gattCharacteristics = service.getCharacteristics();
+            services[i] = service.getUuid();
+            characteristics[i] = new UUID[gattCharacteristics.size()];
+            properties[i] = new int[gattCharacteristics.size()];
+            descriptors[i] = new UUID[gattCharacteristics.size()][];
+            for (int j = 0; j < gattCharacteristics.size(); j++) {
+                BluetoothGattCharacteristic characteristic = gattCharacteristics.get(j);
+                List<BluetoothGattDescriptor> gattDescriptors = characteristic.getDescriptors();
+                characteristics[i][j] = characteristic.getUuid();
+                properties[i][j] = characteristic.getProperties();
+                descriptors[i][j] = new UUID[gattDescriptors.size()];
+                for (int k = 0; k < gattDescriptors.size(); k++) {
+                    descriptors[i][j][k] = gattDescriptors.get(k).getUuid();
+                }
+            }
+        }
+        return new GattDatabase(address, services, characteristics, properties, descriptors);
+    }
+
+    // [version][address][hash][serviceCount]{[uuid][charCount]{[uuid][properties][descCount]{[uuid]}}}
+    public void write(DataOutputStream out) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        out.writeUTF(address);
+        out.writeLong(hash);
+        out.writeShort(services.length);
+        for (int i = 0; i < services.length; i++) {
+            writeUuid(out, services[i]);
+            out.writeShort(characteristics[i].length);
+            for (int j = 0; j < characteristics[i].length; j++) {
+                writeUuid(out, characteristics[i][j]);
+                out.writeShort(properties[i][j]);
+                out.writeShort(descriptors[i][j].length);
+                for (UUID descriptor : descriptors[i][j]) {
+                    writeUuid(out, descriptor);
+                }
+            }
+        }
+    }
+
+    // 형식이 다르거나 저장된 hash 와 내용이 맞지 않으면 null
+    public static GattDatabase read(DataInputStream in) throws IOException {
+        if (in.readUnsignedByte() != FORMAT_VERSION) {
+            return null;
+        }
+
+        String address = in.readUTF();
+        long storedHash = in.readLong();
+        int serviceCount = in.readUnsignedShort();
+        UUID[] services = new UUID[serviceCount];
+        UUID[][] characteristics = new UUID[serviceCount][];
+        int[][] properties = new int[serviceCount][];
+        UUID[][][] descriptors = new UUID[serviceCount][][];
+
+        for (int i = 0; i < serviceCount; i++) {
+            services[i] = readUuid(in);
+            int characteristicCount = in.readUnsignedShort();
+            characteristics[i] = new UUID[characteristicCount];
+            properties[i] = new int[characteristicCount];
+            descriptors[i] = new UUID[characteristicCount][];
+            for (int j = 0; j < characteristicCount; j++) {
+                characteristics[i][j] = readUuid(in);
+                properties[i][j] = in.readUnsignedShort();
+                descriptors[i][j] = new UUID[in.readUnsignedShort()];
+                for (int k = 0; k < descriptors[i][j].length; k++) {
+                    descriptors[i][j][k] = readUuid(in);
+                }
+            }
+        }
+
+        GattDatabase database = new GattDatabase(address, services, characteristics, properties, descriptors);
+        return database.hash == storedHash ? database : null;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public int getServiceCount() {
+        return services.length;
+    }
+
+    public UUID getService(int index) {
+        return services[index];
+    }
+
+    public int getCharacteristicCount(int serviceIndex) {
+        return characteristics[serviceIndex].length;
+    }
+
+    public UUID getCharacteristic(int serviceIndex, int index) {
+        return characteristics[serviceIndex][index];
+    }
+
+    public int getProperties(int serviceIndex, int index) {
+        return properties[serviceIndex][index];
+    }
+
+    public int getDescriptorCount(int serviceIndex, int index) {
+        return descriptors[serviceIndex][index].length;
+    }
+
+    public UUID getDescriptor(int serviceIndex, int index, int descriptorIndex) {
+        return descriptors[serviceIndex][index][descriptorIndex];
+    }
+
+    // OnGattTable 페이로드, UUID 는 [u8 길이][big-endian] (Base UUID 기반이면 2바이트, 아니면 16바이트)
+    // [u8 serviceCount]{[uuid][u8 charCount]{[uuid][u8 properties][u8 descCount]{[uuid]}}}
+    public byte[] toCompactBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(Math.min(services.length, 0xFF));
+        for (int i = 0; i < services.length && i < 0xFF; i++) {
+            writeCompactUuid(out, services[i]);
+            out.write(Math.min(characteristics[i].length, 0xFF));
+            for (int j = 0; j < characteristics[i].length && j < 0xFF; j++) {
+                writeCompactUuid(out, characteristics[i][j]);
+                out.write(properties[i][j] & 0xFF);
+                out.write(Math.min(descriptors[i][j].length, 0xFF));
+                for (int k = 0; k < descriptors[i][j].length && k < 0xFF; k++) {
+                    writeCompactUuid(out, descriptors[i][j][k]);
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeCompactUuid(ByteArrayOutputStream out, UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        if ((msb & BASE_UUID_MSB_MASK) == BASE_UUID_MSB && lsb == BASE_UUID_LSB) {
+            out.write(2);
+            out.write((int) (msb >>> 40) & 0xFF);
+            out.write((int) (msb >>> 32) & 0xFF);
+            return;
+        }
+
+        out.write(16);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (msb >>> shift) & 0xFF);
+        }
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (lsb >>> shift) & 0xFF);
+        }
+    }
+
+    // 서비스/특성/디스크립터 순서, UUID, properties 에 대한 FNV-1a 64
+    private long computeHash() {
+        long value = FNV_OFFSET;
+        for (int i = 0; i < services.length; i++) {
+            value = mix(value, services[i].getMostSignificantBits());
+            value = mix(value, services[i].getLeastSignificantBits());
+            value = mix(value, characteristics[i].length);
+            for (int j = 0; j < characteristics[i].length; j++) {
+                value = mix(value, characteristics[i][j].getMostSignificantBits());
+                value = mix(value, characteristics[i][j].getLeastSignificantBits());
+                value = mix(value, properties[i][j]);
+                value = mix(value, descriptors[i][j].length);
+                for (UUID descriptor : descriptors[i][j]) {
+                    value = mix(value, descriptor.getMostSignificantBits());
+                    value = mix(value, descriptor.getLeastSignificantBits());
+                }
+            }
+        }
+        return value;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash ^= (value >>> shift) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
@@ -0,0 +1,230 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.zentry.unity_bluetooth_plugin.BLEManager;
+import com.zentry.unity_bluetooth_plugin.utils.GattWorker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 디바이스별 GattDatabase 를 앱 전용 저장소(filesDir/ble_gatt_cache)에 보관, 한 번 읽은 것은 메모리에 유지
+// 디스크 I/O(초기 로드/검증, 쓰기, 삭제)는 전용 백그라운드 스레드에서 수행, GATT 콜백 스레드는 메모리만 접근
+public class GattDatabaseStore {
+    private static final String TAG = "GattDatabaseStore";
+    private static final String DIRECTORY_NAME = "ble_gatt_cache";
+    private static final String FILE_SUFFIX = ".gatt";
+
+    private static GattDatabaseStore instance;
+
+    private final ConcurrentHashMap<String, GattDatabase> databases = new ConcurrentHashMap<>();
+    private volatile File directory;
+    private volatile boolean loaded = false;
+    private volatile boolean enabled = true;
+    private final Object ioWorkerLock = new Object();
+    private GattWorker ioWorker;
+
+    private GattDatabaseStore() {
+    }
+
+    public static GattDatabaseStore getInstance() {
+        if (instance == null) {
+            synchronized (GattDatabaseStore.class) {
+                if (instance == null) {
+                    instance = new GattDatabaseStore();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // BLE 초기화 시 호출, 캐시 파일을 백그라운드에서 미리 읽어 둠
+    public void preload() {
+        getIoWorker().post(new Runnable() {
+            @Override
+            public void run() {
+                ensureLoaded();
+            }
+        });
+    }
+
+    // 로드가 끝나기 전이면 캐시 없음으로 처리 (호출 스레드를 막지 않음)
+    public GattDatabase get(String address) {
+        if (!enabled || !loaded) {
+            return null;
+        }
+        return databases.get(address);
+    }
+
+    // 메모리에는 바로 반영, 내용(hash)이 바뀐 경우에만 백그라운드에서 파일 교체
+    public void put(final GattDatabase database) {
+        if (!enabled) {
+            return;
+        }
+        if (!loaded) {
+            // 로드 중이면 로드 결과가 덮어쓰지 않도록 로드 뒤에 반영
+            getIoWorker().post(new Runnable() {
+                @Override
+                public void run() {
+                    ensureLoaded();
+                    if (loaded) {
+                        put(database);
+                    }
+                }
+            });
+            return;
+        }
+
+        GattDatabase previous = databases.put(database.getAddress(), database);
+        if (previous != null && previous.getHash() == database.getHash()) {
+            return;
+        }
+
+        getIoWorker().post(new Runnable() {
+            @Override
+            public void run() {
+                writeFile(database);
+            }
+        });
+    }
+
+    public void remove(final String address) {
+        ensureLoaded();
+        databases.remove(address);
+        getIoWorker().post(new Runnable() {
+            @Override
+            public void run() {
+                File dir = directory;
+                if (dir != null && !databases.containsKey(address)) {
+                    fileFor(dir, address).delete();
+                }
+            }
+        });
+    }
+
+    // Unity 스레드에서 호출, 로드 전이면 로드가 끝날 때까지 대기
+    public String[] getKnownAddresses() {
+        ensureLoaded();
+        List<String> addresses = new ArrayList<>(databases.keySet());
+        return addresses.toArray(new String[0]);
+    }
+
+    // ensureLoaded 와 다른 락 사용 (로드 중에도 작업을 올릴 수 있도록)
+    private GattWorker getIoWorker() {
+        synchronized (ioWorkerLock) {
+            if (ioWorker == null) {
+                ioWorker = new GattWorker("BLE-GattCache");
+            }
+            return ioWorker;
+        }
+    }
+
+    // tmp 파일에 쓴 뒤 rename 으로 교체
+    private void writeFile(GattDatabase database) {
+        File dir = directory;
+        if (dir == null) {
+            return;
+        }
+
+        File file = fileFor(dir, database.getAddress());
+        File temp = new File(dir, file.getName() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            database.write(out);
+            out.close();
+            out = null;
+            if (!temp.renameTo(file)) {
+                Log.w(TAG, "Failed to replace GATT cache: " + file.getName());
+                temp.delete();
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write GATT cache: " + database.getAddress(), e);
+            temp.delete();
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    // 디렉터리의 모든 캐시 파일을 읽고 검증 (손상/구버전 파일은 삭제)
+    private synchronized void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        Context context = BLEManager.getInstance().getContext();
+        if (context == null) {
+            return;
+        }
+
+        File dir = new File(context.getFilesDir(), DIRECTORY_NAME);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            Log.w(TAG, "Failed to create GATT cache directory");
+            loaded = true;
+            return;
+        }
+        directory = dir;
+
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.getName().endsWith(FILE_SUFFIX)) {
+                    continue;
+                }
+                GattDatabase database = readFile(file);
+                if (database != null) {
+                    databases.put(database.getAddress(), database);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        loaded = true;
+        Log.d(TAG, "GATT cache loaded: " + databases.size() + " devices");
+    }
+
+    private static GattDatabase readFile(File file) {
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            return GattDatabase.read(in);
+        } catch (IOException e) {
+            Log.w(TAG, "Invalid GATT cache file: " + file.getName());
+            return null;
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    private static File fileFor(File dir, String address) {
+        return new File(dir, address.replace(":", "") + FILE_SUFFIX);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+
+public abstract class GattRequest {
+    public static final int TYPE_DESCRIPTOR_WRITE = 1;
+    public static final int TYPE_CHARACTERISTIC_READ = 2;
+    public static final int TYPE_CHARACTERISTIC_WRITE = 3;
+    public static final int TYPE_MTU = 4;
+    public static final int TYPE_RSSI = 5;
+
+    public static final int RESULT_PENDING = 0;
+    public static final int RESULT_COMPLETED = 1;
+    public static final int RESULT_FAILED = 2;
+
+    protected static final long DEFAULT_TIMEOUT_MS = 5000;
+    protected static final int DEFAULT_MAX_RETRY = 3;
+
+    protected final String address;
+    private final int type;
+    private int retryCount = 0;
+
+    protected GattRequest(String address, int type) {
+        this.address = address;
+        this.type = type;
+    }
+
+    // RESULT_PENDING 이면 콜백에서 onRequestComplete 가 올 때까지 큐를 점유
+    public abstract int execute(BluetoothGatt gatt);
+
+    public abstract String getFailureMessage();
+
+    public abstract String describe();
+
+    // 여러 단계로 나눠 실행되는 요청(WriteStream)은 남은 단계가 있으면 true 를 반환해 큐를 계속 점유
+    public boolean onStepComplete() {
+        return false;
+    }
+
+    // 완료/최종 실패/큐 비움으로 큐에서 빠질 때 한 번 호출 (풀 버퍼 반환 등)
+    public void onFinished() {
+    }
+
+    public long getTimeoutMs() {
+        return DEFAULT_TIMEOUT_MS;
+    }
+
+    public int getMaxRetry() {
+        return DEFAULT_MAX_RETRY;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    public boolean canRetry() {
+        return retryCount < getMaxRetry();
+    }
+
+    public void incrementRetry() {
+        retryCount++;
+    }
+
+    protected void resetRetry() {
+        retryCount = 0;
+    }
+}
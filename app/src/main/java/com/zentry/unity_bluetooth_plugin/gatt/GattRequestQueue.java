@@ -0,0 +1,192 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+import android.util.Log;
+
+import com.zentry.unity_bluetooth_plugin.BLEManager;
+import com.zentry.unity_bluetooth_plugin.UnityBLEBridge;
+import com.zentry.unity_bluetooth_plugin.connection.BLEConnectionManager;
+import com.zentry.unity_bluetooth_plugin.utils.ThreadHelper;
+
+import java.util.ArrayDeque;
+
+public class GattRequestQueue {
+    private static final String TAG = "GattRequestQueue";
+    private static final long RETRY_DELAY_MS = 100;
+
+    private final String address;
+    private final ArrayDeque<GattRequest> pendingRequests = new ArrayDeque<>();
+    private GattRequest currentRequest;
+    // currentRequest 가 PENDING 으로 실행되어 콜백을 기다리는 중 (타임아웃/실패 후 늦게 온 콜백은 무시)
+    private boolean inFlight = false;
+    // 디바이스 스레드 밖에서 size() 조회용
+    private volatile int requestCount = 0;
+
+    private final Runnable timeoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (currentRequest != null) {
+                Log.w(TAG, "Request timed out: " + currentRequest.describe() + " (" + address + ")");
+                handleFailure();
+            }
+        }
+    };
+
+    private final Runnable retryRunnable = new Runnable() {
+        @Override
+        public void run() {
+            executeCurrent();
+        }
+    };
+
+    public GattRequestQueue(String address) {
+        this.address = address;
+    }
+
+    public void enqueue(final GattRequest request) {
+        ThreadHelper.runOnDeviceThread(address, new Runnable() {
+            @Override
+            public void run() {
+                pendingRequests.add(request);
+                if (currentRequest == null) {
+                    processNext();
+                } else {
+                    updateCount();
+                }
+            }
+        });
+    }
+
+    public void onRequestComplete(final int type, final boolean success) {
+        ThreadHelper.runOnDeviceThread(address, new Runnable() {
+            @Override
+            public void run() {
+                if (currentRequest == null || !inFlight || currentRequest.getType() != type) {
+                    Log.w(TAG, "Unexpected completion (type: " + type + ") for: " + address);
+                    return;
+                }
+
+                inFlight = false;
+                ThreadHelper.cancelOnDeviceThread(address, timeoutRunnable);
+                ThreadHelper.cancelOnDeviceThread(address, retryRunnable);
+                if (success && currentRequest.onStepComplete()) {
+                    executeCurrent();
+                } else if (success) {
+                    finishCurrent();
+                    processNext();
+                } else {
+                    handleFailure();
+                }
+            }
+        });
+    }
+
+    public void clear() {
+        ThreadHelper.runOnDeviceThread(address, new Runnable() {
+            @Override
+            public void run() {
+                ThreadHelper.cancelOnDeviceThread(address, timeoutRunnable);
+                ThreadHelper.cancelOnDeviceThread(address, retryRunnable);
+                finishAll();
+            }
+        });
+    }
+
+    public int size() {
+        return requestCount;
+    }
+
+    private void processNext() {
+        currentRequest = pendingRequests.poll();
+        updateCount();
+        if (currentRequest != null) {
+            executeCurrent();
+        }
+    }
+
+    private void executeCurrent() {
+        GattRequest request = currentRequest;
+        if (request == null) {
+            return;
+        }
+
+        BluetoothGatt gatt = BLEConnectionManager.getInstance().getGatt(address);
+        if (gatt == null) {
+            Log.w(TAG, "Device not connected, dropping " + size() + " request(s): " + address);
+            getBridge().sendError("Device not connected: " + address);
+            finishAll();
+            return;
+        }
+
+        int result;
+        try {
+            result = request.execute(gatt);
+        } catch (Exception e) {
+            Log.e(TAG, "Request threw: " + request.describe(), e);
+            result = GattRequest.RESULT_FAILED;
+        }
+
+        switch (result) {
+            case GattRequest.RESULT_PENDING:
+                inFlight = true;
+                ThreadHelper.runOnDeviceThreadDelayed(address, timeoutRunnable, request.getTimeoutMs());
+                break;
+            case GattRequest.RESULT_COMPLETED:
+                finishCurrent();
+                processNext();
+                break;
+            default:
+                handleFailure();
+                break;
+        }
+    }
+
+    private void handleFailure() {
+        GattRequest request = currentRequest;
+        if (request == null) {
+            return;
+        }
+
+        inFlight = false;
+        ThreadHelper.cancelOnDeviceThread(address, timeoutRunnable);
+
+        if (request.canRetry()) {
+            request.incrementRetry();
+            Log.w(TAG, "Retrying " + request.describe() + " (" + request.getRetryCount() + "/" + request.getMaxRetry() + "): " + address);
+            ThreadHelper.runOnDeviceThreadDelayed(address, retryRunnable, RETRY_DELAY_MS);
+            return;
+        }
+
+        Log.e(TAG, request.getFailureMessage() + " (" + address + ")");
+        getBridge().sendError(request.getFailureMessage());
+        finishCurrent();
+        processNext();
+    }
+
+    private void finishCurrent() {
+        GattRequest request = currentRequest;
+        currentRequest = null;
+        inFlight = false;
+        updateCount();
+        if (request != null) {
+            request.onFinished();
+        }
+    }
+
+    private void finishAll() {
+        finishCurrent();
+        GattRequest request;
+        while ((request = pendingRequests.poll()) != null) {
+            request.onFinished();
+        }
+        updateCount();
+    }
+
+    private void updateCount() {
+        requestCount = pendingRequests.size() + (currentRequest != null ? 1 : 0);
+    }
+
+    private UnityBLEBridge getBridge() {
+        return BLEManager.getInstance().getBridge();
+    }
+}
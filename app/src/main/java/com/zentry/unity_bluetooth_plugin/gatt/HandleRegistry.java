@@ -0,0 +1,154 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import com.zentry.unity_bluetooth_plugin.utils.IdentifierTable;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Unity 가 문자열 대신 정수로 호출할 수 있도록 디바이스/특성 핸들을 배열 인덱스로 발급
+// 핸들은 프로세스 수명 동안 (주소), (주소, 서비스, 특성) 마다 고정되어 재연결 후에도 그대로 사용 가능
+public class HandleRegistry {
+    public static final int INVALID_HANDLE = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    public static class CharacteristicSlot {
+        private final int deviceHandle;
+        private final String address;
+        private volatile CharacteristicCache.Entry entry;
+
+        CharacteristicSlot(int deviceHandle, String address) {
+            this.deviceHandle = deviceHandle;
+            this.address = address;
+        }
+
+        public int getDeviceHandle() {
+            return deviceHandle;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        // 연결 해제 또는 서비스 변경 후 재탐색 전까지는 null
+        public CharacteristicCache.Entry getEntry() {
+            return entry;
+        }
+    }
+
+    private static HandleRegistry instance;
+
+    private final IdentifierTable devices = new IdentifierTable();
+    private final IdentifierTable characteristicKeys = new IdentifierTable();
+    private final ConcurrentHashMap<String, int[]> deviceCharacteristics = new ConcurrentHashMap<>();
+    private volatile CharacteristicSlot[] slots = new CharacteristicSlot[INITIAL_CAPACITY];
+
+    private HandleRegistry() {
+    }
+
+    public static HandleRegistry getInstance() {
+        if (instance == null) {
+            synchronized (HandleRegistry.class) {
+                if (instance == null) {
+                    instance = new HandleRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public int getDeviceHandle(String address) {
+        if (address == null) {
+            return INVALID_HANDLE;
+        }
+        return devices.indexOf(address);
+    }
+
+    public String getAddress(int deviceHandle) {
+        return devices.get(deviceHandle);
+    }
+
+    public CharacteristicSlot getSlot(int characteristicHandle) {
+        CharacteristicSlot[] current = slots;
+        return characteristicHandle >= 0 && characteristicHandle < current.length ? current[characteristicHandle] : null;
+    }
+
+    public int getCharacteristicHandle(String address, CharacteristicCache.Entry entry) {
+        if (address == null || entry == null) {
+            return INVALID_HANDLE;
+        }
+        return characteristicKeys.indexOf(key(address, entry.getServiceUUID(), entry.getCharacteristicUUID()));
+    }
+
+    // 서비스 탐색 완료 시 호출, 탐색된 모든 특성의 슬롯을 채움
+    public void register(String address, CharacteristicCache cache) {
+        int deviceHandle = getDeviceHandle(address);
+        List<CharacteristicCache.Entry> entries = cache.getDiscoveredEntries();
+        int[] handles = new int[entries.size()];
+
+        for (int i = 0; i < handles.length; i++) {
+            CharacteristicCache.Entry entry = entries.get(i);
+            int handle = getCharacteristicHandle(address, entry);
+            ensureSlot(handle, deviceHandle, address).entry = entry;
+            handles[i] = handle;
+        }
+
+        int[] previous = deviceCharacteristics.put(address, handles);
+        if (previous != null) {
+            clearStale(previous, handles);
+        }
+    }
+
+    public void unregister(String address) {
+        int[] handles = deviceCharacteristics.remove(address);
+        if (handles != null) {
+            clearStale(handles, new int[0]);
+        }
+    }
+
+    public int[] getCharacteristicHandles(String address) {
+        int[] handles = deviceCharacteristics.get(address);
+        return handles != null ? handles.clone() : new int[0];
+    }
+
+    private synchronized CharacteristicSlot ensureSlot(int handle, int deviceHandle, String address) {
+        CharacteristicSlot[] current = slots;
+        if (handle >= current.length) {
+            int capacity = current.length;
+            while (capacity <= handle) {
+                capacity <<= 1;
+            }
+            CharacteristicSlot[] grown = new CharacteristicSlot[capacity];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+        }
+
+        CharacteristicSlot slot = current[handle];
+        if (slot == null) {
+            slot = new CharacteristicSlot(deviceHandle, address);
+            current[handle] = slot;
+        }
+        slots = current;
+        return slot;
+    }
+
+    private void clearStale(int[] previous, int[] retained) {
+        for (int handle : previous) {
+            boolean keep = false;
+            for (int current : retained) {
+                if (current == handle) {
+                    keep = true;
+                    break;
+                }
+            }
+
+            CharacteristicSlot slot = getSlot(handle);
+            if (!keep && slot != null) {
+                slot.entry = null;
+            }
+        }
+    }
+
+    private static String key(String address, String serviceUUID, String characteristicUUID) {
+        return address + "|" + serviceUUID + "|" + characteristicUUID;
+    }
+}
@@ -0,0 +1,35 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+import android.util.Log;
+
+public class MtuRequest extends GattRequest {
+    private static final String TAG = "MtuRequest";
+
+    private final int mtu;
+
+    public MtuRequest(String address, int mtu) {
+        super(address, TYPE_MTU);
+        this.mtu = mtu;
+    }
+
+    @Override
+    public int execute(BluetoothGatt gatt) {
+        if (!gatt.requestMtu(mtu)) {
+            return RESULT_FAILED;
+        }
+
+        Log.d(TAG, "MTU requested: " + mtu);
+        return RESULT_PENDING;
+    }
+
+    @Override
+    public String getFailureMessage() {
+        return "Failed to request MTU: " + mtu;
+    }
+
+    @Override
+    public String describe() {
+        return "RequestMtu(" + mtu + ")";
+    }
+}
@@ -0,0 +1,37 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+
+public class ReadRequest extends GattRequest {
+    private static final long READ_TIMEOUT_MS = 3000;
+
+    private final BluetoothGattCharacteristic characteristic;
+    private final String characteristicUUID;
+
+    public ReadRequest(String address, BluetoothGattCharacteristic characteristic, String characteristicUUID) {
+        super(address, TYPE_CHARACTERISTIC_READ);
+        this.characteristic = characteristic;
+        this.characteristicUUID = characteristicUUID;
+    }
+
+    @Override
+    public int execute(BluetoothGatt gatt) {
+        return gatt.readCharacteristic(characteristic) ? RESULT_PENDING : RESULT_FAILED;
+    }
+
+    @Override
+    public long getTimeoutMs() {
+        return READ_TIMEOUT_MS;
+    }
+
+    @Override
+    public String getFailureMessage() {
+        return "Failed to read characteristic: " + characteristicUUID;
+    }
+
+    @Override
+    public String describe() {
+        return "Read(" + characteristicUUID + ")";
+    }
+}
@@ -0,0 +1,31 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+
+public class RssiRequest extends GattRequest {
+    private static final long RSSI_TIMEOUT_MS = 2000;
+
+    public RssiRequest(String address) {
+        super(address, TYPE_RSSI);
+    }
+
+    @Override
+    public int execute(BluetoothGatt gatt) {
+        return gatt.readRemoteRssi() ? RESULT_PENDING : RESULT_FAILED;
+    }
+
+    @Override
+    public long getTimeoutMs() {
+        return RSSI_TIMEOUT_MS;
+    }
+
+    @Override
+    public String getFailureMessage() {
+        return "Failed to read RSSI: " + address;
+    }
+
+    @Override
+    public String describe() {
+        return "ReadRSSI";
+    }
+}
@@ -0,0 +1,61 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.os.Build;
+import android.util.Log;
+
+import java.util.UUID;
+
+public class SubscribeRequest extends GattRequest {
+    private static final String TAG = "SubscribeRequest";
+    static final UUID CCCD_UUID = UUID.fromString("00002902-0000-1000-8000-00805F9B34FB");
+
+    private final BluetoothGattCharacteristic characteristic;
+    private final String characteristicUUID;
+
+    public SubscribeRequest(String address, BluetoothGattCharacteristic characteristic, String characteristicUUID) {
+        super(address, TYPE_DESCRIPTOR_WRITE);
+        this.characteristic = characteristic;
+        this.characteristicUUID = characteristicUUID;
+    }
+
+    @Override
+    public int execute(BluetoothGatt gatt) {
+        if (!gatt.setCharacteristicNotification(characteristic, true)) {
+            return RESULT_FAILED;
+        }
+
+        BluetoothGattDescriptor descriptor = characteristic.getDescriptor(CCCD_UUID);
+        if (descriptor == null) {
+            Log.w(TAG, "CCCD descriptor not found for: " + characteristicUUID);
+            return RESULT_COMPLETED;
+        }
+
+        boolean result;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            result = gatt.writeDescriptor(descriptor, BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE) == 0;
+        } else {
+            descriptor.setValue(BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE);
+            result = gatt.writeDescriptor(descriptor);
+        }
+
+        if (!result) {
+            return RESULT_FAILED;
+        }
+
+        Log.d(TAG, "Subscription requested: " + characteristicUUID);
+        return RESULT_PENDING;
+    }
+
+    @Override
+    public String getFailureMessage() {
+        return "Failed to enable notification for: " + characteristicUUID;
+    }
+
+    @Override
+    public String describe() {
+        return "Subscribe(" + characteristicUUID + ")";
+    }
+}
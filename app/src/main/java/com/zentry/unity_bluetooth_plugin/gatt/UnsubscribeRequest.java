@@ -0,0 +1,55 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.os.Build;
+import android.util.Log;
+
+public class UnsubscribeRequest extends GattRequest {
+    private static final String TAG = "UnsubscribeRequest";
+
+    private final BluetoothGattCharacteristic characteristic;
+    private final String characteristicUUID;
+
+    public UnsubscribeRequest(String address, BluetoothGattCharacteristic characteristic, String characteristicUUID) {
+        super(address, TYPE_DESCRIPTOR_WRITE);
+        this.characteristic = characteristic;
+        this.characteristicUUID = characteristicUUID;
+    }
+
+    @Override
+    public int execute(BluetoothGatt gatt) {
+        gatt.setCharacteristicNotification(characteristic, false);
+
+        BluetoothGattDescriptor descriptor = characteristic.getDescriptor(SubscribeRequest.CCCD_UUID);
+        if (descriptor == null) {
+            return RESULT_COMPLETED;
+        }
+
+        boolean result;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            result = gatt.writeDescriptor(descriptor, BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE) == 0;
+        } else {
+            descriptor.setValue(BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE);
+            result = gatt.writeDescriptor(descriptor);
+        }
+
+        if (!result) {
+            return RESULT_FAILED;
+        }
+
+        Log.d(TAG, "Unsubscription requested: " + characteristicUUID);
+        return RESULT_PENDING;
+    }
+
+    @Override
+    public String getFailureMessage() {
+        return "Failed to disable notification for: " + characteristicUUID;
+    }
+
+    @Override
+    public String describe() {
+        return "Unsubscribe(" + characteristicUUID + ")";
+    }
+}
@@ -0,0 +1,77 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.os.Build;
+import android.util.Log;
+
+import com.zentry.unity_bluetooth_plugin.delivery.NotificationPool;
+
+public class WriteRequest extends GattRequest {
+    private static final String TAG = "WriteRequest";
+    private static final long WRITE_TIMEOUT_MS = 3000;
+
+    private final BluetoothGattCharacteristic characteristic;
+    private final String characteristicUUID;
+    private final byte[] data;
+    private final boolean withResponse;
+    private final NotificationPool bufferPool;
+
+    public WriteRequest(String address, BluetoothGattCharacteristic characteristic, String characteristicUUID, byte[] data, boolean withResponse) {
+        this(address, characteristic, characteristicUUID, data, withResponse, null);
+    }
+
+    // bufferPool 이 있으면 data 는 풀에서 빌린 배열이며 요청이 끝나면 반환
+    public WriteRequest(String address, BluetoothGattCharacteristic characteristic, String characteristicUUID, byte[] data, boolean withResponse, NotificationPool bufferPool) {
+        super(address, TYPE_CHARACTERISTIC_WRITE);
+        this.characteristic = characteristic;
+        this.characteristicUUID = characteristicUUID;
+        this.data = data;
+        this.withResponse = withResponse;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public int execute(BluetoothGatt gatt) {
+        int writeType = withResponse ? BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT : BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE;
+
+        boolean result;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            int status = gatt.writeCharacteristic(characteristic, data, writeType);
+            result = (status == 0);
+        } else {
+            characteristic.setValue(data);
+            characteristic.setWriteType(writeType);
+            result = gatt.writeCharacteristic(characteristic);
+        }
+
+        if (!result) {
+            return RESULT_FAILED;
+        }
+
+        Log.d(TAG, "Write requested: " + characteristicUUID + " (" + data.length + " bytes)");
+        return RESULT_PENDING;
+    }
+
+    @Override
+    public void onFinished() {
+        if (bufferPool != null) {
+            bufferPool.releaseBuffer(data);
+        }
+    }
+
+    @Override
+    public long getTimeoutMs() {
+        return WRITE_TIMEOUT_MS;
+    }
+
+    @Override
+    public String getFailureMessage() {
+        return "Failed to write characteristic: " + characteristicUUID;
+    }
+
+    @Override
+    public String describe() {
+        return "Write(" + characteristicUUID + ", " + data.length + " bytes)";
+    }
+}
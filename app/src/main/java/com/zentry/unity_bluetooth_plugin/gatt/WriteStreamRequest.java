@@ -0,0 +1,136 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.zentry.unity_bluetooth_plugin.BLEManager;
+import com.zentry.unity_bluetooth_plugin.UnityBLEBridge;
+
+// 임의 크기 버퍼를 (MTU - 3) 청크로 나눠 순서대로 쓰는 요청
+// 청크마다 onCharacteristicWrite 를 받은 뒤 다음 청크를 보냄 (Android GATT 는 연결당 미완료 작업 1개만 허용)
+public class WriteStreamRequest extends GattRequest {
+    private static final String TAG = "WriteStreamRequest";
+    private static final long CHUNK_TIMEOUT_MS = 3000;
+    private static final long PROGRESS_INTERVAL_NANOS = 100000000L;
+    private static final int ATT_HEADER_SIZE = 3;
+    private static final int MAX_ATTRIBUTE_LENGTH = 512;
+
+    private final BluetoothGattCharacteristic characteristic;
+    private final String characteristicUUID;
+    private final byte[] data;
+    private final boolean withResponse;
+
+    private byte[] chunk;
+    private int offset = 0;
+    private int chunkLength = 0;
+    private long startNanos = 0;
+    private long lastProgressNanos = 0;
+    private boolean completed = false;
+
+    public WriteStreamRequest(String address, BluetoothGattCharacteristic characteristic, String characteristicUUID, byte[] data, boolean withResponse) {
+        super(address, TYPE_CHARACTERISTIC_WRITE);
+        this.characteristic = characteristic;
+        this.characteristicUUID = characteristicUUID;
+        this.data = data;
+        this.withResponse = withResponse;
+    }
+
+    @Override
+    public int execute(BluetoothGatt gatt) {
+        if (chunk == null) {
+            // 앞서 큐잉된 MTU 요청 결과가 반영되도록 첫 실행 시점에 청크 크기 결정
+            int chunkSize = Math.min(BLEGattManager.getMtu(address) - ATT_HEADER_SIZE, MAX_ATTRIBUTE_LENGTH);
+            chunk = new byte[Math.min(chunkSize, data.length)];
+            startNanos = SystemClock.elapsedRealtimeNanos();
+            lastProgressNanos = startNanos;
+        }
+
+        if (data.length == 0) {
+            completed = true;
+            getBridge().sendWriteStreamCompleted(address, characteristicUUID, 0, 0, 0, null);
+            return RESULT_COMPLETED;
+        }
+
+        chunkLength = Math.min(chunk.length, data.length - offset);
+        byte[] value = chunk;
+        if (chunkLength != chunk.length) {
+            value = new byte[chunkLength];
+        }
+        System.arraycopy(data, offset, value, 0, chunkLength);
+
+        int writeType = withResponse ? BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT : BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE;
+
+        boolean result;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            int status = gatt.writeCharacteristic(characteristic, value, writeType);
+            result = (status == 0);
+        } else {
+            characteristic.setValue(value);
+            characteristic.setWriteType(writeType);
+            result = gatt.writeCharacteristic(characteristic);
+        }
+
+        return result ? RESULT_PENDING : RESULT_FAILED;
+    }
+
+    @Override
+    public boolean onStepComplete() {
+        offset += chunkLength;
+        resetRetry();
+
+        long now = SystemClock.elapsedRealtimeNanos();
+        if (offset < data.length) {
+            if (now - lastProgressNanos >= PROGRESS_INTERVAL_NANOS) {
+                lastProgressNanos = now;
+                getBridge().sendWriteStreamProgress(address, characteristicUUID, offset, data.length, bytesPerSecond(now));
+            }
+            return true;
+        }
+
+        completed = true;
+        int rate = bytesPerSecond(now);
+        Log.d(TAG, "Stream completed: " + characteristicUUID + " (" + data.length + " bytes, " + rate + " B/s)");
+        getBridge().sendWriteStreamCompleted(address, characteristicUUID, offset, data.length, rate, null);
+        return false;
+    }
+
+    // 최종 실패, 연결 해제, 큐 비움 시에도 완료 이벤트는 한 번만 보냄
+    @Override
+    public void onFinished() {
+        if (!completed) {
+            completed = true;
+            getBridge().sendWriteStreamCompleted(address, characteristicUUID, offset, data.length,
+                    bytesPerSecond(SystemClock.elapsedRealtimeNanos()), getFailureMessage());
+        }
+    }
+
+    @Override
+    public long getTimeoutMs() {
+        return CHUNK_TIMEOUT_MS;
+    }
+
+    @Override
+    public String getFailureMessage() {
+        return "Failed to write stream: " + characteristicUUID + " (" + offset + "/" + data.length + " bytes)";
+    }
+
+    @Override
+    public String describe() {
+        return "WriteStream(" + characteristicUUID + ", " + offset + "/" + data.length + " bytes)";
+    }
+
+    private int bytesPerSecond(long now) {
+        long elapsed = now - startNanos;
+        if (startNanos == 0 || elapsed <= 0) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, offset * 1000000000L / elapsed);
+    }
+
+    private UnityBLEBridge getBridge() {
+        return BLEManager.getInstance().getBridge();
+    }
+}
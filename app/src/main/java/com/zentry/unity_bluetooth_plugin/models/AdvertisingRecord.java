@@ -0,0 +1,139 @@
+package com.zentry.unity_bluetooth_plugin.models;
+
+// 광고 데이터 디코딩 결과, 값 대신 원본 바이트 내 위치만 보관해 재사용 (스캔 스레드 전용)
+public class AdvertisingRecord {
+    public static final int MAX_FIELDS = 8;
+    public static final int NO_FLAGS = -1;
+    public static final int NO_TX_POWER = 127;
+
+    private byte[] source;
+    private int length;
+    private int flags;
+    private int txPower;
+
+    // 서비스 UUID 목록 AD 구조별 (value 위치, 길이, UUID 폭 2/4/16)
+    private final int[] serviceUuidOffsets = new int[MAX_FIELDS];
+    private final int[] serviceUuidLengths = new int[MAX_FIELDS];
+    private final int[] serviceUuidWidths = new int[MAX_FIELDS];
+    private int serviceUuidFieldCount;
+
+    // company ID(LE 2바이트) 포함
+    private final int[] manufacturerOffsets = new int[MAX_FIELDS];
+    private final int[] manufacturerLengths = new int[MAX_FIELDS];
+    private int manufacturerCount;
+
+    // UUID(폭 2/4/16, LE) 포함
+    private final int[] serviceDataOffsets = new int[MAX_FIELDS];
+    private final int[] serviceDataLengths = new int[MAX_FIELDS];
+    private final int[] serviceDataWidths = new int[MAX_FIELDS];
+    private int serviceDataCount;
+
+    public void reset(byte[] source) {
+        this.source = source;
+        this.length = 0;
+        this.flags = NO_FLAGS;
+        this.txPower = NO_TX_POWER;
+        this.serviceUuidFieldCount = 0;
+        this.manufacturerCount = 0;
+        this.serviceDataCount = 0;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public void setFlags(int flags) {
+        this.flags = flags;
+    }
+
+    public void setTxPower(int txPower) {
+        this.txPower = txPower;
+    }
+
+    public void addServiceUuids(int offset, int length, int width) {
+        if (serviceUuidFieldCount < MAX_FIELDS) {
+            serviceUuidOffsets[serviceUuidFieldCount] = offset;
+            serviceUuidLengths[serviceUuidFieldCount] = length;
+            serviceUuidWidths[serviceUuidFieldCount] = width;
+            serviceUuidFieldCount++;
+        }
+    }
+
+    public void addManufacturerData(int offset, int length) {
+        if (manufacturerCount < MAX_FIELDS) {
+            manufacturerOffsets[manufacturerCount] = offset;
+            manufacturerLengths[manufacturerCount] = length;
+            manufacturerCount++;
+        }
+    }
+
+    public void addServiceData(int offset, int length, int width) {
+        if (serviceDataCount < MAX_FIELDS) {
+            serviceDataOffsets[serviceDataCount] = offset;
+            serviceDataLengths[serviceDataCount] = length;
+            serviceDataWidths[serviceDataCount] = width;
+            serviceDataCount++;
+        }
+    }
+
+    public byte[] getSource() {
+        return source;
+    }
+
+    // 마지막 유효 AD 구조까지의 길이 (뒤쪽 0 패딩 제외)
+    public int getLength() {
+        return length;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public int getTxPower() {
+        return txPower;
+    }
+
+    public int getServiceUuidFieldCount() {
+        return serviceUuidFieldCount;
+    }
+
+    public int getServiceUuidOffset(int index) {
+        return serviceUuidOffsets[index];
+    }
+
+    public int getServiceUuidLength(int index) {
+        return serviceUuidLengths[index];
+    }
+
+    public int getServiceUuidWidth(int index) {
+        return serviceUuidWidths[index];
+    }
+
+    public int getManufacturerCount() {
+        return manufacturerCount;
+    }
+
+    public int getManufacturerOffset(int index) {
+        return manufacturerOffsets[index];
+    }
+
+    public int getManufacturerLength(int index) {
+        return manufacturerLengths[index];
+    }
+
+    public int getServiceDataCount() {
+        return serviceDataCount;
+    }
+
+    public int getServiceDataOffset(int index) {
+        return serviceDataOffsets[index];
+    }
+
+    public int getServiceDataLength(int index) {
+        return serviceDataLengths[index];
+    }
+
+    public int getServiceDataWidth(int index) {
+        return serviceDataWidths[index];
+    }
+}
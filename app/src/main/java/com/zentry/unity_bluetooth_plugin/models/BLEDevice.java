@@ -5,6 +5,12 @@ public class BLEDevice {
     private final String name;
     private int rssi;
     private byte[] advertisingData;
+    private int reportedRssi;
+    private byte[] reportedAdvertisingData;
+    private boolean updatePending;
+    private long lastSeenMs;
+    private float smoothedRssi;
+    private int rankIndex = -1;
 
     public BLEDevice(String address, String name) {
         this.address = address;
@@ -37,6 +43,55 @@ public class BLEDevice {
         this.advertisingData = data;
     }
 
+    public long getLastSeenMs() {
+        return lastSeenMs;
+    }
+
+    public void setLastSeenMs(long lastSeenMs) {
+        this.lastSeenMs = lastSeenMs;
+    }
+
+    // RSSI 지수 이동 평균, NearestDeviceIndex 가 관리
+    public float getSmoothedRssi() {
+        return smoothedRssi;
+    }
+
+    public void setSmoothedRssi(float smoothedRssi) {
+        this.smoothedRssi = smoothedRssi;
+    }
+
+    // NearestDeviceIndex 내 위치, 색인되지 않았으면 -1
+    public int getRankIndex() {
+        return rankIndex;
+    }
+
+    public void setRankIndex(int rankIndex) {
+        this.rankIndex = rankIndex;
+    }
+
+    // 마지막으로 Unity 에 보낸 값 (스캔 업데이트 모드의 변화량 판단용)
+    public int getReportedRssi() {
+        return reportedRssi;
+    }
+
+    public byte[] getReportedAdvertisingData() {
+        return reportedAdvertisingData;
+    }
+
+    public void markReported() {
+        this.reportedRssi = rssi;
+        this.reportedAdvertisingData = advertisingData;
+        this.updatePending = false;
+    }
+
+    public boolean isUpdatePending() {
+        return updatePending;
+    }
+
+    public void setUpdatePending(boolean updatePending) {
+        this.updatePending = updatePending;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
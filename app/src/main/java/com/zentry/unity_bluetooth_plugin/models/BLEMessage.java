@@ -1,20 +1,8 @@
 package com.zentry.unity_bluetooth_plugin.models;
 
-import android.util.Base64;
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.zentry.unity_bluetooth_plugin.utils.MessageEncoder;
 
 public class BLEMessage {
-    private static final String KEY_TYPE = "type";
-    private static final String KEY_ADDRESS = "address";
-    private static final String KEY_NAME = "name";
-    private static final String KEY_SERVICE_UUID = "serviceUUID";
-    private static final String KEY_CHARACTERISTIC_UUID = "characteristicUUID";
-    private static final String KEY_DATA = "data";
-    private static final String KEY_RSSI = "rssi";
-    private static final String KEY_MTU = "mtu";
-    private static final String KEY_ERROR = "error";
-
     public static final String TYPE_INITIALIZED = "OnInitialized";
     public static final String TYPE_ERROR = "OnError";
     public static final String TYPE_DEVICE_DISCOVERED = "OnDeviceDiscovered";
@@ -26,18 +14,36 @@ public class BLEMessage {
     public static final String TYPE_MTU_CHANGED = "OnMtuChanged";
     public static final String TYPE_NOTIFICATION_STATE_CHANGED = "OnNotificationStateChanged";
     public static final String TYPE_RSSI_READ = "OnReadRSSI";
+    public static final String TYPE_WRITE_STREAM_PROGRESS = "OnWriteStreamProgress";
+    public static final String TYPE_WRITE_STREAM_COMPLETED = "OnWriteStreamCompleted";
+    public static final String TYPE_DEVICES_UPDATED = "OnDevicesUpdated";
+    public static final String TYPE_DEVICE_LOST = "OnDeviceLost";
+    public static final String TYPE_NEAREST_DEVICES_CHANGED = "OnNearestDevicesChanged";
+    public static final String TYPE_DEVICE_RECONNECTED = "OnDeviceReconnected";
+    public static final String TYPE_GATT_TABLE = "OnGattTable";
+    public static final String TYPE_SERVICES_READY = "OnServicesReady";
 
     private final String type;
-    private final JSONObject data;
+    private String address;
+    private String name;
+    private String serviceUUID;
+    private String characteristicUUID;
+    private byte[] data;
+    private int rssi;
+    private int mtu;
+    private String error;
+    private int bytesSent;
+    private int totalBytes;
+    private int bytesPerSecond;
+    private String[] deviceAddresses;
+    private int[] deviceRssis;
+    private byte[][] deviceData;
+    private int deviceCount;
+    private AdvertisingRecord advertisingRecord;
+    private int elapsedMs;
 
     private BLEMessage(String type) {
         this.type = type;
-        this.data = new JSONObject();
-        try {
-            this.data.put(KEY_TYPE, type);
-        } catch (JSONException e) {
-            e.printStackTrace();
-        }
     }
 
     public static BLEMessage createInitialized() {
@@ -46,94 +52,226 @@ public class BLEMessage {
 
     public static BLEMessage createError(String error) {
         BLEMessage message = new BLEMessage(TYPE_ERROR);
-        message.putString(KEY_ERROR, error);
+        message.error = error;
         return message;
     }
 
     public static BLEMessage createDeviceDiscovered(String address, String name, int rssi, byte[] advertisingData) {
         BLEMessage message = new BLEMessage(TYPE_DEVICE_DISCOVERED);
-        message.putString(KEY_ADDRESS, address);
-        message.putString(KEY_NAME, name);
-        message.putInt(KEY_RSSI, rssi);
-        if (advertisingData != null) {
-            message.putString(KEY_DATA, Base64.encodeToString(advertisingData, Base64.NO_WRAP));
-        }
+        message.address = address;
+        message.name = name;
+        message.rssi = rssi;
+        message.data = advertisingData;
+        return message;
+    }
+
+    public static BLEMessage createDeviceDiscovered(String address, String name, int rssi, byte[] advertisingData, AdvertisingRecord record) {
+        BLEMessage message = createDeviceDiscovered(address, name, rssi, advertisingData);
+        message.advertisingRecord = record;
         return message;
     }
 
     public static BLEMessage createDeviceConnected(String address) {
         BLEMessage message = new BLEMessage(TYPE_DEVICE_CONNECTED);
-        message.putString(KEY_ADDRESS, address);
+        message.address = address;
         return message;
     }
 
     public static BLEMessage createDeviceDisconnected(String address) {
         BLEMessage message = new BLEMessage(TYPE_DEVICE_DISCONNECTED);
-        message.putString(KEY_ADDRESS, address);
+        message.address = address;
+        return message;
+    }
+
+    public static BLEMessage createDeviceLost(String address) {
+        BLEMessage message = new BLEMessage(TYPE_DEVICE_LOST);
+        message.address = address;
+        return message;
+    }
+
+    public static BLEMessage createDeviceReconnected(String address, int elapsedMs) {
+        BLEMessage message = new BLEMessage(TYPE_DEVICE_RECONNECTED);
+        message.address = address;
+        message.elapsedMs = elapsedMs;
+        return message;
+    }
+
+    public static BLEMessage createServicesReady(String address) {
+        BLEMessage message = new BLEMessage(TYPE_SERVICES_READY);
+        message.address = address;
+        return message;
+    }
+
+    // table 은 GattDatabase.toCompactBytes() 형식
+    public static BLEMessage createGattTable(String address, byte[] table) {
+        BLEMessage message = new BLEMessage(TYPE_GATT_TABLE);
+        message.address = address;
+        message.data = table;
         return message;
     }
 
     public static BLEMessage createServiceDiscovered(String address, String serviceUUID) {
         BLEMessage message = new BLEMessage(TYPE_SERVICE_DISCOVERED);
-        message.putString(KEY_ADDRESS, address);
-        message.putString(KEY_SERVICE_UUID, serviceUUID);
+        message.address = address;
+        message.serviceUUID = serviceUUID;
         return message;
     }
 
     public static BLEMessage createCharacteristicDiscovered(String address, String serviceUUID, String characteristicUUID) {
         BLEMessage message = new BLEMessage(TYPE_CHARACTERISTIC_DISCOVERED);
-        message.putString(KEY_ADDRESS, address);
-        message.putString(KEY_SERVICE_UUID, serviceUUID);
-        message.putString(KEY_CHARACTERISTIC_UUID, characteristicUUID);
+        message.address = address;
+        message.serviceUUID = serviceUUID;
+        message.characteristicUUID = characteristicUUID;
         return message;
     }
 
+    // data 는 참조만 보관하므로 sendMessage 에서 즉시 인코딩되어야 함 (풀 버퍼 재사용)
     public static BLEMessage createDataReceived(String address, String characteristicUUID, byte[] data) {
         BLEMessage message = new BLEMessage(TYPE_DATA_RECEIVED);
-        message.putString(KEY_ADDRESS, address);
-        message.putString(KEY_CHARACTERISTIC_UUID, characteristicUUID);
-        message.putString(KEY_DATA, Base64.encodeToString(data, Base64.NO_WRAP));
+        message.address = address;
+        message.characteristicUUID = characteristicUUID;
+        message.data = data;
         return message;
     }
 
     public static BLEMessage createMtuChanged(String address, int mtu) {
         BLEMessage message = new BLEMessage(TYPE_MTU_CHANGED);
-        message.putString(KEY_ADDRESS, address);
-        message.putInt(KEY_MTU, mtu);
+        message.address = address;
+        message.mtu = mtu;
         return message;
     }
 
     public static BLEMessage createNotificationStateChanged(String address, String characteristicUUID) {
         BLEMessage message = new BLEMessage(TYPE_NOTIFICATION_STATE_CHANGED);
-        message.putString(KEY_ADDRESS, address);
-        message.putString(KEY_CHARACTERISTIC_UUID, characteristicUUID);
+        message.address = address;
+        message.characteristicUUID = characteristicUUID;
         return message;
     }
 
     public static BLEMessage createRssiRead(String address, int rssi) {
         BLEMessage message = new BLEMessage(TYPE_RSSI_READ);
-        message.putString(KEY_ADDRESS, address);
-        message.putInt(KEY_RSSI, rssi);
+        message.address = address;
+        message.rssi = rssi;
         return message;
     }
 
-    private void putString(String key, String value) {
-        try {
-            data.put(key, value);
-        } catch (JSONException e) {
-            e.printStackTrace();
-        }
+    public static BLEMessage createWriteStreamProgress(String address, String characteristicUUID, int bytesSent, int totalBytes, int bytesPerSecond) {
+        BLEMessage message = new BLEMessage(TYPE_WRITE_STREAM_PROGRESS);
+        message.address = address;
+        message.characteristicUUID = characteristicUUID;
+        message.bytesSent = bytesSent;
+        message.totalBytes = totalBytes;
+        message.bytesPerSecond = bytesPerSecond;
+        return message;
+    }
+
+    // error 가 null 이면 전체 전송 성공
+    public static BLEMessage createWriteStreamCompleted(String address, String characteristicUUID, int bytesSent, int totalBytes, int bytesPerSecond, String error) {
+        BLEMessage message = new BLEMessage(TYPE_WRITE_STREAM_COMPLETED);
+        message.address = address;
+        message.characteristicUUID = characteristicUUID;
+        message.bytesSent = bytesSent;
+        message.totalBytes = totalBytes;
+        message.bytesPerSecond = bytesPerSecond;
+        message.error = error;
+        return message;
+    }
+
+    // 배열은 [0..count) 만 유효, 참조만 보관하므로 sendMessage 에서 즉시 인코딩되어야 함
+    public static BLEMessage createDevicesUpdated(String[] addresses, int[] rssis, byte[][] advertisingData, int count) {
+        BLEMessage message = new BLEMessage(TYPE_DEVICES_UPDATED);
+        message.deviceAddresses = addresses;
+        message.deviceRssis = rssis;
+        message.deviceData = advertisingData;
+        message.deviceCount = count;
+        return message;
+    }
+
+    public static BLEMessage createNearestDevicesChanged(String[] addresses, int[] rssis, int count) {
+        BLEMessage message = new BLEMessage(TYPE_NEAREST_DEVICES_CHANGED);
+        message.deviceAddresses = addresses;
+        message.deviceRssis = rssis;
+        message.deviceCount = count;
+        return message;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getServiceUUID() {
+        return serviceUUID;
+    }
+
+    public String getCharacteristicUUID() {
+        return characteristicUUID;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getRssi() {
+        return rssi;
+    }
+
+    public int getMtu() {
+        return mtu;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public int getBytesSent() {
+        return bytesSent;
     }
 
-    private void putInt(String key, int value) {
-        try {
-            data.put(key, value);
-        } catch (JSONException e) {
-            e.printStackTrace();
-        }
+    public int getTotalBytes() {
+        return totalBytes;
+    }
+
+    public int getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public String[] getDeviceAddresses() {
+        return deviceAddresses;
+    }
+
+    public int[] getDeviceRssis() {
+        return deviceRssis;
+    }
+
+    public byte[][] getDeviceData() {
+        return deviceData;
+    }
+
+    public int getDeviceCount() {
+        return deviceCount;
+    }
+
+    public int getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public AdvertisingRecord getAdvertisingRecord() {
+        return advertisingRecord;
     }
 
     public String toJson() {
-        return data.toString();
+        return MessageEncoder.encodeJson(this);
+    }
+
+    public String toLegacy() {
+        return MessageEncoder.encodeLegacy(this);
     }
 }
@@ -0,0 +1,46 @@
+package com.zentry.unity_bluetooth_plugin.models;
+
+// NotificationPool 에서 재사용되는 수신 패킷 (소비자가 recycle 하기 전까지만 유효)
+public class BLENotification {
+    private String address;
+    private String characteristicUUID;
+    private byte[] data;
+    private long timestampNanos;
+
+    public BLENotification() {
+    }
+
+    public BLENotification(String address, String characteristicUUID, byte[] data, long timestampNanos) {
+        set(address, characteristicUUID, data, timestampNanos);
+    }
+
+    public void set(String address, String characteristicUUID, byte[] data, long timestampNanos) {
+        this.address = address;
+        this.characteristicUUID = characteristicUUID;
+        this.data = data;
+        this.timestampNanos = timestampNanos;
+    }
+
+    public void clear() {
+        address = null;
+        characteristicUUID = null;
+        data = null;
+        timestampNanos = 0;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getCharacteristicUUID() {
+        return characteristicUUID;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
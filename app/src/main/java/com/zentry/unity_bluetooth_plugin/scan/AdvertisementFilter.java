@@ -0,0 +1,157 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import android.bluetooth.le.ScanFilter;
+import android.os.ParcelUuid;
+
+import java.nio.charset.Charset;
+import java.util.UUID;
+
+// 광고 필터 1개 = 모든 조건 AND, 여러 필터는 OR
+// 제조사/서비스 데이터는 ScanFilter 로 컨트롤러에 내리고, 이름 접두사/RSSI 하한을 포함한 전체 조건은 콜백에서 raw 바이트로 재검사
+public class AdvertisementFilter {
+    public static final int NO_MANUFACTURER = -1;
+    public static final int NO_RSSI_FLOOR = 0;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final int manufacturerId;
+    private final byte[] manufacturerData;
+    private final byte[] manufacturerMask;
+    private final UUID serviceDataUuid;
+    private final long serviceDataMsb;
+    private final long serviceDataLsb;
+    private final byte[] serviceData;
+    private final byte[] serviceDataMask;
+    private final String namePrefix;
+    private final byte[] namePrefixBytes;
+    private final int minRssi;
+
+    // manufacturerId < 0, serviceDataUuid null, namePrefix null/빈 문자열, minRssi 0 이면 해당 조건 없음
+    // mask 가 null 이면 data 전체 일치, data 는 앞부분(prefix) 비교
+    public AdvertisementFilter(int manufacturerId, byte[] manufacturerData, byte[] manufacturerMask,
+                               UUID serviceDataUuid, byte[] serviceData, byte[] serviceDataMask,
+                               String namePrefix, int minRssi) {
+        this.manufacturerId = manufacturerId;
+        this.manufacturerData = manufacturerData != null ? manufacturerData : new byte[0];
+        this.manufacturerMask = manufacturerMask;
+        this.serviceDataUuid = serviceDataUuid;
+        this.serviceDataMsb = serviceDataUuid != null ? serviceDataUuid.getMostSignificantBits() : 0;
+        this.serviceDataLsb = serviceDataUuid != null ? serviceDataUuid.getLeastSignificantBits() : 0;
+        this.serviceData = serviceData != null ? serviceData : new byte[0];
+        this.serviceDataMask = serviceDataMask;
+        this.namePrefix = namePrefix != null && !namePrefix.isEmpty() ? namePrefix : null;
+        this.namePrefixBytes = this.namePrefix != null ? this.namePrefix.getBytes(UTF_8) : null;
+        this.minRssi = minRssi;
+    }
+
+    public boolean isValid() {
+        return (manufacturerMask == null || manufacturerMask.length == manufacturerData.length)
+                && (serviceDataMask == null || serviceDataMask.length == serviceData.length)
+                && manufacturerId <= 0xFFFF
+                && minRssi <= NO_RSSI_FLOOR;
+    }
+
+    // Android ScanFilter 가 지원하는 조건만 적용 (serviceUuid 는 기존 서비스 UUID 필터와 결합할 때 사용)
+    public ScanFilter toScanFilter(ParcelUuid serviceUuid) {
+        ScanFilter.Builder builder = new ScanFilter.Builder();
+        if (serviceUuid != null) {
+            builder.setServiceUuid(serviceUuid);
+        }
+        if (manufacturerId >= 0) {
+            builder.setManufacturerData(manufacturerId, manufacturerData, manufacturerMask);
+        }
+        if (serviceDataUuid != null) {
+            builder.setServiceData(new ParcelUuid(serviceDataUuid), serviceData, serviceDataMask);
+        }
+        return builder.build();
+    }
+
+    // scanRecord 는 ScanRecord.getBytes() 원본 (복사 없음), deviceName 은 광고에 이름이 없을 때의 대체값
+    public boolean matches(byte[] scanRecord, int rssi, String deviceName) {
+        if (minRssi != NO_RSSI_FLOOR && rssi < minRssi) {
+            return false;
+        }
+        if (manufacturerId >= 0 && !matchesManufacturer(scanRecord)) {
+            return false;
+        }
+        if (serviceDataUuid != null && !matchesServiceData(scanRecord)) {
+            return false;
+        }
+        return namePrefix == null || matchesName(scanRecord, deviceName);
+    }
+
+    public boolean hasNamePredicate() {
+        return namePrefix != null;
+    }
+
+    private boolean matchesManufacturer(byte[] scanRecord) {
+        int offset = -1;
+        while ((offset = AdvertisingDataParser.nextValue(scanRecord, AdvertisingDataParser.TYPE_MANUFACTURER_DATA, offset)) >= 0) {
+            int length = AdvertisingDataParser.valueLength(scanRecord, offset);
+            if (length >= 2 && AdvertisingDataParser.readUInt16(scanRecord, offset) == manufacturerId
+                    && matchesPrefix(scanRecord, offset + 2, length - 2, manufacturerData, manufacturerMask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesServiceData(byte[] scanRecord) {
+        return matchesServiceData(scanRecord, AdvertisingDataParser.TYPE_SERVICE_DATA_16, 2)
+                || matchesServiceData(scanRecord, AdvertisingDataParser.TYPE_SERVICE_DATA_32, 4)
+                || matchesServiceData(scanRecord, AdvertisingDataParser.TYPE_SERVICE_DATA_128, 16);
+    }
+
+    private boolean matchesServiceData(byte[] scanRecord, int type, int uuidLength) {
+        int offset = -1;
+        while ((offset = AdvertisingDataParser.nextValue(scanRecord, type, offset)) >= 0) {
+            int length = AdvertisingDataParser.valueLength(scanRecord, offset);
+            if (length < uuidLength) {
+                continue;
+            }
+
+            long msb;
+            long lsb;
+            if (uuidLength == 2) {
+                msb = AdvertisingDataParser.shortUuidMsb(AdvertisingDataParser.readUInt16(scanRecord, offset));
+                lsb = AdvertisingDataParser.BASE_UUID_LSB;
+            } else if (uuidLength == 4) {
+                msb = AdvertisingDataParser.shortUuidMsb(AdvertisingDataParser.readUInt32(scanRecord, offset));
+                lsb = AdvertisingDataParser.BASE_UUID_LSB;
+            } else {
+                msb = AdvertisingDataParser.readUuidMsb(scanRecord, offset);
+                lsb = AdvertisingDataParser.readUuidLsb(scanRecord, offset);
+            }
+
+            if (msb == serviceDataMsb && lsb == serviceDataLsb
+                    && matchesPrefix(scanRecord, offset + uuidLength, length - uuidLength, serviceData, serviceDataMask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesName(byte[] scanRecord, String deviceName) {
+        int offset = AdvertisingDataParser.nextValue(scanRecord, AdvertisingDataParser.TYPE_COMPLETE_LOCAL_NAME, -1);
+        if (offset < 0) {
+            offset = AdvertisingDataParser.nextValue(scanRecord, AdvertisingDataParser.TYPE_SHORTENED_LOCAL_NAME, -1);
+        }
+        if (offset >= 0) {
+            return matchesPrefix(scanRecord, offset, AdvertisingDataParser.valueLength(scanRecord, offset), namePrefixBytes, null);
+        }
+        return deviceName != null && deviceName.startsWith(namePrefix);
+    }
+
+    private static boolean matchesPrefix(byte[] source, int offset, int length, byte[] expected, byte[] mask) {
+        if (length < expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            int m = mask != null ? mask[i] : 0xFF;
+            if (((source[offset + i] ^ expected[i]) & m) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
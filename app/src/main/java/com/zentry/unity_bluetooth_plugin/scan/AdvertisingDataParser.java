@@ -0,0 +1,170 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import com.zentry.unity_bluetooth_plugin.models.AdvertisingRecord;
+
+// 광고 데이터(AD structure: [length][type][value...]) 를 할당 없이 순회
+public class AdvertisingDataParser {
+    public static final int TYPE_FLAGS = 0x01;
+    public static final int TYPE_INCOMPLETE_SERVICE_UUID_16 = 0x02;
+    public static final int TYPE_COMPLETE_SERVICE_UUID_16 = 0x03;
+    public static final int TYPE_INCOMPLETE_SERVICE_UUID_32 = 0x04;
+    public static final int TYPE_COMPLETE_SERVICE_UUID_32 = 0x05;
+    public static final int TYPE_INCOMPLETE_SERVICE_UUID_128 = 0x06;
+    public static final int TYPE_COMPLETE_SERVICE_UUID_128 = 0x07;
+    public static final int TYPE_SHORTENED_LOCAL_NAME = 0x08;
+    public static final int TYPE_COMPLETE_LOCAL_NAME = 0x09;
+    public static final int TYPE_TX_POWER_LEVEL = 0x0A;
+    public static final int TYPE_SERVICE_DATA_16 = 0x16;
+    public static final int TYPE_SERVICE_DATA_32 = 0x20;
+    public static final int TYPE_SERVICE_DATA_128 = 0x21;
+    public static final int TYPE_MANUFACTURER_DATA = 0xFF;
+
+    // Bluetooth Base UUID (0000xxxx-0000-1000-8000-00805F9B34FB)
+    public static final long BASE_UUID_MSB = 0x0000000000001000L;
+    public static final long BASE_UUID_LSB = 0x800000805F9B34FBL;
+
+    // previousValueOffset 다음에 오는 type 구조의 value 시작 위치, 없으면 -1 (처음 찾을 때는 -1 전달)
+    public static int nextValue(byte[] data, int type, int previousValueOffset) {
+        if (data == null) {
+            return -1;
+        }
+
+        int index = 0;
+        if (previousValueOffset >= 2) {
+            index = previousValueOffset - 2 + (data[previousValueOffset - 2] & 0xFF) + 1;
+        }
+
+        while (index < data.length) {
+            int length = data[index] & 0xFF;
+            if (length == 0 || index + length >= data.length) {
+                return -1;
+            }
+            if ((data[index + 1] & 0xFF) == type) {
+                return index + 2;
+            }
+            index += length + 1;
+        }
+        return -1;
+    }
+
+    // 한 번 순회하며 flags, TX power, 서비스 UUID, 제조사/서비스 데이터 위치를 record 에 기록 (할당 없음)
+    public static void parse(byte[] data, AdvertisingRecord record) {
+        record.reset(data);
+        if (data == null) {
+            return;
+        }
+
+        int index = 0;
+        while (index < data.length) {
+            int length = data[index] & 0xFF;
+            if (length == 0 || index + length >= data.length) {
+                break;
+            }
+
+            int type = data[index + 1] & 0xFF;
+            int valueOffset = index + 2;
+            int valueLength = length - 1;
+
+            switch (type) {
+                case TYPE_FLAGS:
+                    if (valueLength >= 1) {
+                        record.setFlags(data[valueOffset] & 0xFF);
+                    }
+                    break;
+                case TYPE_TX_POWER_LEVEL:
+                    if (valueLength >= 1) {
+                        record.setTxPower(data[valueOffset]);
+                    }
+                    break;
+                case TYPE_INCOMPLETE_SERVICE_UUID_16:
+                case TYPE_COMPLETE_SERVICE_UUID_16:
+                    record.addServiceUuids(valueOffset, valueLength, 2);
+                    break;
+                case TYPE_INCOMPLETE_SERVICE_UUID_32:
+                case TYPE_COMPLETE_SERVICE_UUID_32:
+                    record.addServiceUuids(valueOffset, valueLength, 4);
+                    break;
+                case TYPE_INCOMPLETE_SERVICE_UUID_128:
+                case TYPE_COMPLETE_SERVICE_UUID_128:
+                    record.addServiceUuids(valueOffset, valueLength, 16);
+                    break;
+                case TYPE_MANUFACTURER_DATA:
+                    if (valueLength >= 2) {
+                        record.addManufacturerData(valueOffset, valueLength);
+                    }
+                    break;
+                case TYPE_SERVICE_DATA_16:
+                    if (valueLength >= 2) {
+                        record.addServiceData(valueOffset, valueLength, 2);
+                    }
+                    break;
+                case TYPE_SERVICE_DATA_32:
+                    if (valueLength >= 4) {
+                        record.addServiceData(valueOffset, valueLength, 4);
+                    }
+                    break;
+                case TYPE_SERVICE_DATA_128:
+                    if (valueLength >= 16) {
+                        record.addServiceData(valueOffset, valueLength, 16);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            index += length + 1;
+            record.setLength(index);
+        }
+    }
+
+    // 뒤쪽 0 패딩을 제외한 유효 길이
+    public static int significantLength(byte[] data) {
+        if (data == null) {
+            return 0;
+        }
+
+        int index = 0;
+        while (index < data.length) {
+            int length = data[index] & 0xFF;
+            if (length == 0 || index + length >= data.length) {
+                break;
+            }
+            index += length + 1;
+        }
+        return index;
+    }
+
+    public static int valueLength(byte[] data, int valueOffset) {
+        return (data[valueOffset - 2] & 0xFF) - 1;
+    }
+
+    // 16/32비트 UUID 를 Base UUID 로 확장했을 때의 상위 64비트
+    public static long shortUuidMsb(long shortUuid) {
+        return (shortUuid << 32) | BASE_UUID_MSB;
+    }
+
+    public static int readUInt16(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8);
+    }
+
+    public static long readUInt32(byte[] data, int offset) {
+        return ((long) readUInt16(data, offset)) | ((long) readUInt16(data, offset + 2) << 16);
+    }
+
+    // 128비트 UUID 는 little-endian 으로 저장됨
+    public static long readUuidMsb(byte[] data, int offset) {
+        return readLongLE(data, offset + 8);
+    }
+
+    public static long readUuidLsb(byte[] data, int offset) {
+        return readLongLE(data, offset);
+    }
+
+    private static long readLongLE(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
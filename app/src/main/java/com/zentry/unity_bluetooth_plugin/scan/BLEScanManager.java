@@ -8,33 +8,121 @@ import android.bluetooth.le.ScanResult;
 import android.bluetooth.le.ScanSettings;
 import android.os.Build;
 import android.os.ParcelUuid;
+import android.os.SystemClock;
 import android.util.Log;
 
 import com.zentry.unity_bluetooth_plugin.BLEManager;
 import com.zentry.unity_bluetooth_plugin.UnityBLEBridge;
+import com.zentry.unity_bluetooth_plugin.models.AdvertisingRecord;
 import com.zentry.unity_bluetooth_plugin.models.BLEDevice;
 import com.zentry.unity_bluetooth_plugin.utils.ThreadHelper;
 import com.zentry.unity_bluetooth_plugin.utils.UUIDConverter;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class BLEScanManager {
     private static final String TAG = "BLEScanManager";
-    private static final long SCAN_TIMEOUT_MS = 30000;
+
+    // 발견 이벤트의 광고 데이터 형식
+    public static final int PAYLOAD_RAW = 0;
+    public static final int PAYLOAD_TRIMMED = 1;
+    public static final int PAYLOAD_DECODED = 2;
+
+    private static final int MAX_UPDATES_PER_TICK = 128;
+    private static final long MAX_SWEEP_INTERVAL_MS = 1000;
+    private static final int MAX_RANKING_EVENT_COUNT = 32;
 
     private static BLEScanManager instance;
-    private BluetoothLeScanner scanner;
+    // start/stop 은 Unity 스레드와 스캔 스레드(타임아웃)에서 호출되므로 scanLock 으로 직렬화
+    private final Object scanLock = new Object();
+    private volatile BluetoothLeScanner scanner;
     private UnityBLEBridge bridge;
-    private ScanCallback scanCallback;
-    private Map<String, BLEDevice> discoveredDevices;
-    private boolean isScanning = false;
+    private volatile ScanCallback scanCallback;
+    private final DeviceTable discoveredDevices = new DeviceTable();
+    private final ArrayList<BLEDevice> lostDevices = new ArrayList<>();
+    private final NearestDeviceIndex nearestDevices = new NearestDeviceIndex();
+    private volatile long deviceTtlMs = 0;
+    private volatile AdvertisementFilter[] advertisementFilters = new AdvertisementFilter[0];
+    private volatile boolean filtersNeedName = false;
+    private volatile int payloadMode = PAYLOAD_TRIMMED;
+    // 스캔 스레드에서만 사용, 발견 이벤트 인코딩이 끝날 때까지만 유효
+    private final AdvertisingRecord advertisingRecord = new AdvertisingRecord();
+    private volatile boolean isScanning = false;
+
+    // ScanCallback 은 메인 Looper 에서 호출되므로 결과만 큐에 넣고, 처리(필터/테이블/이벤트 인코딩)는 스캔 스레드에서 한 번에 처리
+    // 디바이스 테이블, pendingUpdates, 스캔 타이머는 스캔 스레드 소유
+    private final ConcurrentLinkedQueue<ScanResult> pendingResults = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    private final Runnable drainResultsRunnable = new Runnable() {
+        @Override
+        public void run() {
+            drainScheduled.set(false);
+            ScanResult result;
+            while ((result = pendingResults.poll()) != null) {
+                handleScanResult(result);
+            }
+            reportRankingIfChanged();
+        }
+    };
+
+    // 상위 rankingEventCount 개의 순위가 바뀌면 OnNearestDevicesChanged (0 이면 이벤트 없음, 스캔 스레드 소유)
+    private int rankingEventCount = 0;
+    private BLEDevice[] currentRanking = new BLEDevice[0];
+    private BLEDevice[] reportedRanking = new BLEDevice[0];
+    private int reportedRankingCount = 0;
+    private String[] rankingAddresses = new String[0];
+    private int[] rankingRssis = new int[0];
+
+    // 스캔 업데이트 모드: 이미 발견된 디바이스의 RSSI/광고 변화를 tick 마다 한 메시지로 묶어 전달
+    private volatile boolean updateModeEnabled = false;
+    private volatile long updateIntervalMs = 200;
+    private volatile int updateRssiThreshold = 3;
+    private final ArrayList<BLEDevice> pendingUpdates = new ArrayList<>();
+    private final String[] updateAddresses = new String[MAX_UPDATES_PER_TICK];
+    private final int[] updateRssis = new int[MAX_UPDATES_PER_TICK];
+    private final byte[][] updateData = new byte[MAX_UPDATES_PER_TICK][];
+
+    private final Runnable updateTickRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flushDeviceUpdates();
+            if (isScanning && updateModeEnabled) {
+                ThreadHelper.runOnScanThreadDelayed(this, updateIntervalMs);
+            }
+        }
+    };
+
+    private final Runnable scanTimeoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (isScanning) {
+                StopScan();
+            }
+        }
+    };
+
+    private final Runnable sweepRunnable = new Runnable() {
+        @Override
+        public void run() {
+            long ttl = deviceTtlMs;
+            if (ttl > 0) {
+                discoveredDevices.evictExpired(SystemClock.elapsedRealtime(), ttl, lostDevices);
+                reportLostDevices();
+                reportRankingIfChanged();
+            }
+            if (isScanning && ttl > 0) {
+                ThreadHelper.runOnScanThreadDelayed(this, sweepInterval(ttl));
+            }
+        }
+    };
 
     private BLEScanManager() {
-        discoveredDevices = new HashMap<>();
     }
 
     public static BLEScanManager getInstance() {
@@ -50,10 +138,21 @@ public class BLEScanManager {
 
     public static void ScanForPeripheralsWithServices(String[] serviceUUIDs, boolean clearPeripheralList) {
         BLEScanManager manager = getInstance();
-        manager.startScanInternal(serviceUUIDs, clearPeripheralList);
+        manager.startScanInternal(serviceUUIDs, clearPeripheralList, ScanProfile.createDefault());
+    }
+
+    public static void ScanForPeripheralsWithProfile(String[] serviceUUIDs, boolean clearPeripheralList, ScanProfile profile) {
+        BLEScanManager manager = getInstance();
+        manager.startScanInternal(serviceUUIDs, clearPeripheralList, profile != null ? profile : ScanProfile.createDefault());
     }
 
-    private void startScanInternal(String[] serviceUUIDs, boolean clearPeripheralList) {
+    private void startScanInternal(String[] serviceUUIDs, boolean clearPeripheralList, ScanProfile profile) {
+        synchronized (scanLock) {
+            startScanLocked(serviceUUIDs, clearPeripheralList, profile);
+        }
+    }
+
+    private void startScanLocked(String[] serviceUUIDs, boolean clearPeripheralList, ScanProfile profile) {
         BLEManager bleManager = BLEManager.getInstance();
         bridge = bleManager.getBridge();
 
@@ -79,6 +178,16 @@ public class BLEScanManager {
             return;
         }
 
+        // ScanProfile 값은 Unity 에서 그대로 넘어오므로 Builder 가 거부하면 예외 대신 에러로 보고
+        ScanSettings settings;
+        try {
+            settings = buildScanSettings(adapter, profile);
+        } catch (IllegalArgumentException e) {
+            bridge.sendError("Invalid scan profile: " + e.getMessage());
+            Log.e(TAG, "Invalid scan profile (" + profile.describe() + ")", e);
+            return;
+        }
+
         scanner = adapter.getBluetoothLeScanner();
         if (scanner == null) {
             bridge.sendError("Failed to get BluetoothLeScanner");
@@ -86,31 +195,55 @@ public class BLEScanManager {
         }
 
         if (clearPeripheralList) {
-            discoveredDevices.clear();
+            ThreadHelper.runOnScanThread(new Runnable() {
+                @Override
+                public void run() {
+                    discoveredDevices.clear();
+                    nearestDevices.clear();
+                    clearPendingUpdates();
+                }
+            });
         }
 
         List<ScanFilter> filters = buildScanFilters(serviceUUIDs);
-        ScanSettings settings = buildScanSettings();
 
         scanCallback = new ScanCallback() {
             @Override
-            public void onScanResult(int callbackType, ScanResult result) {
+            public void onScanResult(int callbackType, final ScanResult result) {
                 super.onScanResult(callbackType, result);
-                handleScanResult(result);
+                if (callbackType == ScanSettings.CALLBACK_TYPE_MATCH_LOST) {
+                    ThreadHelper.postOnScanThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            handleMatchLost(result);
+                        }
+                    });
+                    return;
+                }
+                if (result != null) {
+                    pendingResults.offer(result);
+                    scheduleDrain();
+                }
             }
 
             @Override
             public void onBatchScanResults(List<ScanResult> results) {
                 super.onBatchScanResults(results);
                 for (ScanResult result : results) {
-                    handleScanResult(result);
+                    if (result != null) {
+                        pendingResults.offer(result);
+                    }
                 }
+                scheduleDrain();
             }
 
             @Override
             public void onScanFailed(int errorCode) {
                 super.onScanFailed(errorCode);
                 isScanning = false;
+                ThreadHelper.cancelOnScanThread(scanTimeoutRunnable);
+                ThreadHelper.cancelOnScanThread(sweepRunnable);
+                ThreadHelper.cancelOnScanThread(updateTickRunnable);
                 bridge.sendError("Scan failed with error code: " + errorCode);
             }
         };
@@ -118,16 +251,22 @@ public class BLEScanManager {
         try {
             scanner.startScan(filters, settings, scanCallback);
             isScanning = true;
-            Log.d(TAG, "BLE scan started");
+            Log.d(TAG, "BLE scan started (" + profile.describe() + ")");
 
-            ThreadHelper.runOnMainThreadDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    if (isScanning) {
-                        StopScan();
-                    }
-                }
-            }, SCAN_TIMEOUT_MS);
+            if (updateModeEnabled) {
+                ThreadHelper.cancelOnScanThread(updateTickRunnable);
+                ThreadHelper.runOnScanThreadDelayed(updateTickRunnable, updateIntervalMs);
+            }
+
+            ThreadHelper.cancelOnScanThread(sweepRunnable);
+            if (deviceTtlMs > 0) {
+                ThreadHelper.runOnScanThreadDelayed(sweepRunnable, sweepInterval(deviceTtlMs));
+            }
+
+            ThreadHelper.cancelOnScanThread(scanTimeoutRunnable);
+            if (profile.getTimeoutMs() > 0) {
+                ThreadHelper.runOnScanThreadDelayed(scanTimeoutRunnable, profile.getTimeoutMs());
+            }
         } catch (Exception e) {
             isScanning = false;
             bridge.sendError("Failed to start scan: " + e.getMessage());
@@ -135,42 +274,192 @@ public class BLEScanManager {
         }
     }
 
+    public static void SetScanUpdateMode(boolean enabled, int intervalMs, int rssiThreshold) {
+        BLEScanManager manager = getInstance();
+        manager.setScanUpdateModeInternal(enabled, intervalMs, rssiThreshold);
+    }
+
+    private void setScanUpdateModeInternal(final boolean enabled, int intervalMs, int rssiThreshold) {
+        if (intervalMs <= 0 || rssiThreshold < 0) {
+            Log.w(TAG, "Invalid scan update mode: interval " + intervalMs + "ms, threshold " + rssiThreshold);
+            return;
+        }
+
+        updateIntervalMs = intervalMs;
+        updateRssiThreshold = rssiThreshold;
+        updateModeEnabled = enabled;
+        Log.d(TAG, "Scan update mode: " + enabled + " (" + intervalMs + "ms, " + rssiThreshold + "dBm)");
+
+        ThreadHelper.runOnScanThread(new Runnable() {
+            @Override
+            public void run() {
+                ThreadHelper.cancelOnScanThread(updateTickRunnable);
+                if (enabled && isScanning) {
+                    ThreadHelper.runOnScanThreadDelayed(updateTickRunnable, updateIntervalMs);
+                } else if (!enabled) {
+                    clearPendingUpdates();
+                }
+            }
+        });
+    }
+
+    public static void SetDiscoveryPayloadMode(int mode) {
+        BLEScanManager manager = getInstance();
+        manager.setDiscoveryPayloadModeInternal(mode);
+    }
+
+    private void setDiscoveryPayloadModeInternal(int mode) {
+        if (mode < PAYLOAD_RAW || mode > PAYLOAD_DECODED) {
+            Log.w(TAG, "Invalid discovery payload mode: " + mode);
+            return;
+        }
+
+        payloadMode = mode;
+        Log.d(TAG, "Discovery payload mode: " + mode);
+    }
+
+    // eventCount: 상위 몇 개의 순위 변화를 OnNearestDevicesChanged 로 알릴지 (0 이면 끔), alpha: RSSI EMA 계수 (0, 1]
+    public static void SetNearestDeviceTracking(int eventCount, float alpha) {
+        BLEScanManager manager = getInstance();
+        manager.setNearestDeviceTrackingInternal(eventCount, alpha);
+    }
+
+    private void setNearestDeviceTrackingInternal(final int eventCount, float alpha) {
+        if (eventCount < 0 || eventCount > MAX_RANKING_EVENT_COUNT || !(alpha > 0 && alpha <= 1)) {
+            Log.w(TAG, "Invalid nearest device tracking: count " + eventCount + ", alpha " + alpha);
+            return;
+        }
+
+        nearestDevices.setAlpha(alpha);
+        Log.d(TAG, "Nearest device tracking: count " + eventCount + ", alpha " + alpha);
+
+        ThreadHelper.runOnScanThread(new Runnable() {
+            @Override
+            public void run() {
+                rankingEventCount = eventCount;
+                currentRanking = new BLEDevice[eventCount];
+                reportedRanking = new BLEDevice[eventCount];
+                reportedRankingCount = 0;
+                rankingAddresses = new String[eventCount];
+                rankingRssis = new int[eventCount];
+                reportRankingIfChanged();
+            }
+        });
+    }
+
+    // 평활 RSSI 기준 상위 k 개 ("address~rssi", 강한 순)
+    public static String[] GetNearestDevices(int k) {
+        return getInstance().nearestDevices.top(k);
+    }
+
+    // 다음 스캔부터 ScanFilter 에 반영, 콜백 재검사는 즉시 적용
+    public static boolean AddAdvertisementFilter(AdvertisementFilter filter) {
+        BLEScanManager manager = getInstance();
+        return manager.addAdvertisementFilterInternal(filter);
+    }
+
+    private synchronized boolean addAdvertisementFilterInternal(AdvertisementFilter filter) {
+        if (filter == null || !filter.isValid()) {
+            Log.w(TAG, "Invalid advertisement filter");
+            return false;
+        }
+
+        AdvertisementFilter[] current = advertisementFilters;
+        AdvertisementFilter[] next = new AdvertisementFilter[current.length + 1];
+        System.arraycopy(current, 0, next, 0, current.length);
+        next[current.length] = filter;
+        filtersNeedName = filtersNeedName || filter.hasNamePredicate();
+        advertisementFilters = next;
+        Log.d(TAG, "Advertisement filter added (" + next.length + " total)");
+        return true;
+    }
+
+    public static void ClearAdvertisementFilters() {
+        BLEScanManager manager = getInstance();
+        synchronized (manager) {
+            manager.advertisementFilters = new AdvertisementFilter[0];
+            manager.filtersNeedName = false;
+        }
+    }
+
+    // capacity: 최대 보관 디바이스 수, ttlMs: 이 시간 동안 보이지 않으면 OnDeviceLost 후 제거 (0 이면 TTL 없음)
+    public static void SetDeviceTableLimits(int capacity, int ttlMs) {
+        BLEScanManager manager = getInstance();
+        manager.setDeviceTableLimitsInternal(capacity, ttlMs);
+    }
+
+    private void setDeviceTableLimitsInternal(final int capacity, final int ttlMs) {
+        if (capacity <= 0 || ttlMs < 0) {
+            Log.w(TAG, "Invalid device table limits: capacity " + capacity + ", ttl " + ttlMs + "ms");
+            return;
+        }
+
+        deviceTtlMs = ttlMs;
+        Log.d(TAG, "Device table limits: capacity " + capacity + ", ttl " + ttlMs + "ms");
+
+        ThreadHelper.runOnScanThread(new Runnable() {
+            @Override
+            public void run() {
+                discoveredDevices.setCapacity(capacity, lostDevices);
+                reportLostDevices();
+                reportRankingIfChanged();
+
+                ThreadHelper.cancelOnScanThread(sweepRunnable);
+                if (isScanning && ttlMs > 0) {
+                    ThreadHelper.runOnScanThreadDelayed(sweepRunnable, sweepInterval(ttlMs));
+                }
+            }
+        });
+    }
+
     public static void StopScan() {
         BLEScanManager manager = getInstance();
         manager.stopScanInternal();
     }
 
     private void stopScanInternal() {
-        if (!isScanning) {
-            return;
-        }
+        synchronized (scanLock) {
+            if (!isScanning) {
+                return;
+            }
 
-        if (scanner != null && scanCallback != null) {
-            try {
-                scanner.stopScan(scanCallback);
-                Log.d(TAG, "BLE scan stopped");
-            } catch (Exception e) {
-                Log.e(TAG, "Error stopping scan", e);
+            BluetoothLeScanner currentScanner = scanner;
+            ScanCallback callback = scanCallback;
+            if (currentScanner != null && callback != null) {
+                try {
+                    currentScanner.stopScan(callback);
+                    Log.d(TAG, "BLE scan stopped");
+                } catch (Exception e) {
+                    Log.e(TAG, "Error stopping scan", e);
+                }
             }
+
+            isScanning = false;
+            scanCallback = null;
         }
 
-        isScanning = false;
-        scanCallback = null;
+        ThreadHelper.runOnScanThread(new Runnable() {
+            @Override
+            public void run() {
+                ThreadHelper.cancelOnScanThread(scanTimeoutRunnable);
+                ThreadHelper.cancelOnScanThread(sweepRunnable);
+                ThreadHelper.cancelOnScanThread(updateTickRunnable);
+                flushDeviceUpdates();
+            }
+        });
     }
 
+    // 광고 필터가 있으면 (필터 × 서비스 UUID) 조합으로 ScanFilter 생성
     private List<ScanFilter> buildScanFilters(String[] serviceUUIDs) {
         List<ScanFilter> filters = new ArrayList<>();
+        List<ParcelUuid> serviceUuids = new ArrayList<>();
 
         if (serviceUUIDs != null && serviceUUIDs.length > 0) {
             for (String uuidString : serviceUUIDs) {
                 String normalizedUUID = UUIDConverter.normalize(uuidString);
                 if (normalizedUUID != null) {
                     try {
-                        UUID uuid = UUID.fromString(normalizedUUID);
-                        ScanFilter filter = new ScanFilter.Builder()
-                                .setServiceUuid(new ParcelUuid(uuid))
-                                .build();
-                        filters.add(filter);
+                        serviceUuids.add(new ParcelUuid(UUID.fromString(normalizedUUID)));
                     } catch (Exception e) {
                         Log.e(TAG, "Invalid UUID: " + uuidString, e);
                     }
@@ -178,43 +467,241 @@ public class BLEScanManager {
             }
         }
 
+        AdvertisementFilter[] advertisementFilters = this.advertisementFilters;
+        if (advertisementFilters.length == 0) {
+            for (ParcelUuid serviceUuid : serviceUuids) {
+                filters.add(new ScanFilter.Builder().setServiceUuid(serviceUuid).build());
+            }
+            return filters;
+        }
+
+        for (AdvertisementFilter advertisementFilter : advertisementFilters) {
+            if (serviceUuids.isEmpty()) {
+                filters.add(advertisementFilter.toScanFilter(null));
+            }
+            for (ParcelUuid serviceUuid : serviceUuids) {
+                filters.add(advertisementFilter.toScanFilter(serviceUuid));
+            }
+        }
         return filters;
     }
 
-    private ScanSettings buildScanSettings() {
+    // 등록된 필터 중 하나라도 만족해야 브리지로 전달 (필터가 없으면 모두 통과)
+    private boolean matchesAdvertisementFilters(ScanResult result) {
+        AdvertisementFilter[] advertisementFilters = this.advertisementFilters;
+        if (advertisementFilters.length == 0) {
+            return true;
+        }
+
+        byte[] scanRecord = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP && result.getScanRecord() != null) {
+            scanRecord = result.getScanRecord().getBytes();
+        }
+        String fallbackName = filtersNeedName ? result.getDevice().getName() : null;
+        int rssi = result.getRssi();
+
+        for (AdvertisementFilter advertisementFilter : advertisementFilters) {
+            if (advertisementFilter.matches(scanRecord, rssi, fallbackName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ScanSettings buildScanSettings(BluetoothAdapter adapter, ScanProfile profile) {
         ScanSettings.Builder builder = new ScanSettings.Builder()
-                .setScanMode(ScanSettings.SCAN_MODE_LOW_LATENCY);
+                .setScanMode(profile.getScanMode());
 
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            builder.setCallbackType(ScanSettings.CALLBACK_TYPE_ALL_MATCHES);
+            builder.setCallbackType(profile.getCallbackType());
+            builder.setMatchMode(profile.getMatchMode());
+            builder.setNumOfMatches(profile.getNumOfMatches());
+        }
+
+        // 컨트롤러 배치를 지원하지 않으면 report delay 가 무시되거나 스캔이 실패하므로 즉시 보고로 대체
+        if (profile.getReportDelayMs() > 0) {
+            if (adapter.isOffloadedScanBatchingSupported()) {
+                builder.setReportDelay(profile.getReportDelayMs());
+            } else {
+                Log.w(TAG, "Offloaded scan batching not supported, reporting results immediately");
+            }
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            boolean legacy = profile.isLegacy() || !adapter.isLeExtendedAdvertisingSupported();
+            builder.setLegacy(legacy);
+            if (!legacy) {
+                builder.setPhy(profile.getPhy());
+            }
         }
 
         return builder.build();
     }
 
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            ThreadHelper.postOnScanThread(drainResultsRunnable);
+        }
+    }
+
     private void handleScanResult(ScanResult result) {
         if (result == null || result.getDevice() == null) {
             return;
         }
 
+        if (!matchesAdvertisementFilters(result)) {
+            return;
+        }
+
         String address = result.getDevice().getAddress();
         String name = extractDeviceName(result);
         int rssi = result.getRssi();
         byte[] advertisingData = parseAdvertisingData(result);
 
-        BLEDevice device = discoveredDevices.get(address);
+        long now = SystemClock.elapsedRealtime();
+        BLEDevice device = discoveredDevices.touch(address, now);
         if (device == null) {
             device = new BLEDevice(address, name);
-            discoveredDevices.put(address, device);
+            discoveredDevices.put(device, now, lostDevices);
+            reportLostDevices();
             device.setRssi(rssi);
             device.setAdvertisingData(advertisingData);
+            nearestDevices.update(device, rssi);
 
-            bridge.sendDeviceDiscovered(address, name, rssi, advertisingData);
+            device.markReported();
+
+            sendDeviceDiscovered(address, name, rssi, advertisingData);
             Log.d(TAG, "Device discovered: " + address + " (" + name + ") RSSI: " + rssi);
         } else {
             device.setRssi(rssi);
             device.setAdvertisingData(advertisingData);
+            nearestDevices.update(device, rssi);
+            if (updateModeEnabled && !device.isUpdatePending() && hasReportableChange(device)) {
+                device.setUpdatePending(true);
+                pendingUpdates.add(device);
+            }
+        }
+    }
+
+    private void handleMatchLost(ScanResult result) {
+        if (result == null || result.getDevice() == null) {
+            return;
+        }
+
+        BLEDevice device = discoveredDevices.remove(result.getDevice().getAddress());
+        if (device != null) {
+            lostDevices.add(device);
+            reportLostDevices();
+            reportRankingIfChanged();
+        }
+    }
+
+    // 용량 초과, TTL 만료, MATCH_LOST 로 테이블에서 빠진 디바이스를 OnDeviceLost 로 알림
+    private void reportLostDevices() {
+        if (lostDevices.isEmpty()) {
+            return;
+        }
+
+        for (BLEDevice device : lostDevices) {
+            if (device.isUpdatePending()) {
+                device.setUpdatePending(false);
+                pendingUpdates.remove(device);
+            }
+            nearestDevices.remove(device);
+            bridge.sendDeviceLost(device.getAddress());
+            Log.d(TAG, "Device lost: " + device.getAddress());
+        }
+        lostDevices.clear();
+    }
+
+    private void reportRankingIfChanged() {
+        int k = rankingEventCount;
+        if (k == 0) {
+            return;
+        }
+
+        int count = nearestDevices.copyTop(k, currentRanking);
+        boolean changed = count != reportedRankingCount;
+        for (int i = 0; i < count && !changed; i++) {
+            changed = currentRanking[i] != reportedRanking[i];
+        }
+        if (!changed) {
+            Arrays.fill(currentRanking, 0, count, null);
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            rankingAddresses[i] = currentRanking[i].getAddress();
+            rankingRssis[i] = Math.round(currentRanking[i].getSmoothedRssi());
+        }
+        System.arraycopy(currentRanking, 0, reportedRanking, 0, count);
+        Arrays.fill(reportedRanking, count, k, null);
+        Arrays.fill(currentRanking, 0, count, null);
+        reportedRankingCount = count;
+
+        bridge.sendNearestDevicesChanged(rankingAddresses, rankingRssis, count);
+        Arrays.fill(rankingAddresses, 0, count, null);
+    }
+
+    private static long sweepInterval(long ttlMs) {
+        return Math.max(1, Math.min(MAX_SWEEP_INTERVAL_MS, ttlMs / 2));
+    }
+
+    private boolean hasReportableChange(BLEDevice device) {
+        return Math.abs(device.getRssi() - device.getReportedRssi()) >= updateRssiThreshold
+                || !Arrays.equals(device.getAdvertisingData(), device.getReportedAdvertisingData());
+    }
+
+    // 대기 중인 변경을 최대 MAX_UPDATES_PER_TICK 개씩 OnDevicesUpdated 하나로 전달 (남은 것은 다음 tick)
+    private void flushDeviceUpdates() {
+        int count = Math.min(pendingUpdates.size(), MAX_UPDATES_PER_TICK);
+        if (count == 0) {
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            BLEDevice device = pendingUpdates.get(i);
+            updateAddresses[i] = device.getAddress();
+            updateRssis[i] = device.getRssi();
+            updateData[i] = payloadMode == PAYLOAD_RAW ? device.getAdvertisingData() : trimAdvertisingData(device.getAdvertisingData());
+            device.markReported();
+        }
+        pendingUpdates.subList(0, count).clear();
+
+        bridge.sendDevicesUpdated(updateAddresses, updateRssis, updateData, count);
+        Arrays.fill(updateAddresses, 0, count, null);
+        Arrays.fill(updateData, 0, count, null);
+    }
+
+    // TRIMMED 는 0 패딩을 잘라 전달, DECODED 는 바이너리 이벤트에 flags/TX power/UUID/제조사·서비스 데이터를 태그로 분리해 전달
+    private void sendDeviceDiscovered(String address, String name, int rssi, byte[] advertisingData) {
+        int mode = payloadMode;
+        if (mode == PAYLOAD_RAW || advertisingData == null) {
+            bridge.sendDeviceDiscovered(address, name, rssi, advertisingData);
+            return;
+        }
+
+        AdvertisingDataParser.parse(advertisingData, advertisingRecord);
+        byte[] trimmed = advertisingRecord.getLength() == advertisingData.length
+                ? advertisingData
+                : Arrays.copyOf(advertisingData, advertisingRecord.getLength());
+        bridge.sendDeviceDiscovered(address, name, rssi, trimmed, mode == PAYLOAD_DECODED ? advertisingRecord : null);
+    }
+
+    private static byte[] trimAdvertisingData(byte[] advertisingData) {
+        if (advertisingData == null) {
+            return null;
+        }
+
+        int length = AdvertisingDataParser.significantLength(advertisingData);
+        return length == advertisingData.length ? advertisingData : Arrays.copyOf(advertisingData, length);
+    }
+
+    private void clearPendingUpdates() {
+        for (BLEDevice device : pendingUpdates) {
+            device.setUpdatePending(false);
         }
+        pendingUpdates.clear();
     }
 
     private String extractDeviceName(ScanResult result) {
@@ -0,0 +1,75 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import com.zentry.unity_bluetooth_plugin.models.BLEDevice;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+// 발견된 디바이스 테이블: 최근 발견 순서(LRU) 유지, 용량 초과/TTL 만료 시 가장 오래된 것부터 제거
+public class DeviceTable {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final LinkedHashMap<String, BLEDevice> devices = new LinkedHashMap<>(64, 0.75f, true);
+    private int capacity = DEFAULT_CAPACITY;
+
+    // 발견 시 호출: 최근 순서로 이동하고 lastSeen 갱신
+    public synchronized BLEDevice touch(String address, long nowMs) {
+        BLEDevice device = devices.get(address);
+        if (device != null) {
+            device.setLastSeenMs(nowMs);
+        }
+        return device;
+    }
+
+    // 용량을 넘으면 가장 오래 보이지 않은 디바이스를 evicted 에 담아 제거
+    public synchronized void put(BLEDevice device, long nowMs, List<BLEDevice> evicted) {
+        device.setLastSeenMs(nowMs);
+        devices.put(device.getAddress(), device);
+        trimToCapacity(evicted);
+    }
+
+    public synchronized BLEDevice remove(String address) {
+        return devices.remove(address);
+    }
+
+    // lastSeen 이 ttlMs 보다 오래된 디바이스 제거 (LRU 순서라 첫 미만료 항목에서 중단)
+    public synchronized void evictExpired(long nowMs, long ttlMs, List<BLEDevice> evicted) {
+        Iterator<BLEDevice> iterator = devices.values().iterator();
+        while (iterator.hasNext()) {
+            BLEDevice device = iterator.next();
+            if (nowMs - device.getLastSeenMs() < ttlMs) {
+                break;
+            }
+            iterator.remove();
+            evicted.add(device);
+        }
+    }
+
+    public synchronized void setCapacity(int capacity, List<BLEDevice> evicted) {
+        this.capacity = capacity;
+        trimToCapacity(evicted);
+    }
+
+    public synchronized void clear() {
+        devices.clear();
+    }
+
+    public synchronized int size() {
+        return devices.size();
+    }
+
+    public synchronized List<BLEDevice> snapshot() {
+        return new ArrayList<>(devices.values());
+    }
+
+    private void trimToCapacity(List<BLEDevice> evicted) {
+        Iterator<BLEDevice> iterator = devices.values().iterator();
+        while (devices.size() > capacity && iterator.hasNext()) {
+            BLEDevice device = iterator.next();
+            iterator.remove();
+            evicted.add(device);
+        }
+    }
+}
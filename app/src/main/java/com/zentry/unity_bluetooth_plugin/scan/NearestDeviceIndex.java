@@ -0,0 +1,91 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import com.zentry.unity_bluetooth_plugin.models.BLEDevice;
+
+import java.util.Arrays;
+
+// 평활 RSSI 내림차순으로 정렬된 디바이스 배열
+// 갱신 시 해당 디바이스만 앞뒤로 이동 (RSSI 변화가 작으면 이동 거리도 짧음), 수정은 스캔 스레드, 조회는 임의 스레드
+public class NearestDeviceIndex {
+    public static final float DEFAULT_ALPHA = 0.3f;
+
+    private BLEDevice[] ranked = new BLEDevice[64];
+    private int size;
+    private float alpha = DEFAULT_ALPHA;
+
+    public synchronized void setAlpha(float alpha) {
+        this.alpha = alpha;
+    }
+
+    // 새 RSSI 를 EMA 에 반영하고 순위 위치 조정
+    public synchronized void update(BLEDevice device, int rssi) {
+        int index = device.getRankIndex();
+        if (index < 0) {
+            device.setSmoothedRssi(rssi);
+            if (size == ranked.length) {
+                ranked = Arrays.copyOf(ranked, size * 2);
+            }
+            index = size++;
+            ranked[index] = device;
+            device.setRankIndex(index);
+        } else {
+            float smoothed = device.getSmoothedRssi();
+            device.setSmoothedRssi(smoothed + alpha * (rssi - smoothed));
+        }
+
+        float value = device.getSmoothedRssi();
+        while (index > 0 && ranked[index - 1].getSmoothedRssi() < value) {
+            move(index - 1, index);
+            index--;
+        }
+        while (index < size - 1 && ranked[index + 1].getSmoothedRssi() > value) {
+            move(index + 1, index);
+            index++;
+        }
+        ranked[index] = device;
+        device.setRankIndex(index);
+    }
+
+    public synchronized void remove(BLEDevice device) {
+        int index = device.getRankIndex();
+        if (index < 0 || index >= size || ranked[index] != device) {
+            return;
+        }
+
+        for (int i = index; i < size - 1; i++) {
+            move(i + 1, i);
+        }
+        ranked[--size] = null;
+        device.setRankIndex(-1);
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < size; i++) {
+            ranked[i].setRankIndex(-1);
+            ranked[i] = null;
+        }
+        size = 0;
+    }
+
+    // 상위 k 개를 out 에 복사하고 개수 반환
+    public synchronized int copyTop(int k, BLEDevice[] out) {
+        int count = Math.min(Math.min(k, size), out.length);
+        System.arraycopy(ranked, 0, out, 0, count);
+        return count;
+    }
+
+    // 상위 k 개를 "address~rssi" 로 반환 (rssi 는 평활값 반올림)
+    public synchronized String[] top(int k) {
+        int count = Math.max(0, Math.min(k, size));
+        String[] result = new String[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = ranked[i].getAddress() + "~" + Math.round(ranked[i].getSmoothedRssi());
+        }
+        return result;
+    }
+
+    private void move(int from, int to) {
+        ranked[to] = ranked[from];
+        ranked[to].setRankIndex(to);
+    }
+}
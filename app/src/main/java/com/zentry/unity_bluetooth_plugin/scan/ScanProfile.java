@@ -0,0 +1,94 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import android.bluetooth.le.ScanSettings;
+
+// 스캔별 설정 묶음, 값은 ScanSettings 상수를 그대로 사용
+public class ScanProfile {
+    public static final int PRESET_FOREGROUND = 0;
+    public static final int PRESET_BALANCED = 1;
+    public static final int PRESET_BACKGROUND = 2;
+
+    public static final long DEFAULT_TIMEOUT_MS = 30000;
+
+    private final int scanMode;
+    private final int callbackType;
+    private final int matchMode;
+    private final int numOfMatches;
+    private final long reportDelayMs;
+    private final boolean legacy;
+    private final int phy;
+    private final long timeoutMs;
+
+    // timeoutMs 가 0 이하면 StopScan 전까지 계속 스캔
+    public ScanProfile(int scanMode, int callbackType, int matchMode, int numOfMatches, long reportDelayMs, boolean legacy, int phy, long timeoutMs) {
+        this.scanMode = scanMode;
+        this.callbackType = callbackType;
+        this.matchMode = matchMode;
+        this.numOfMatches = numOfMatches;
+        this.reportDelayMs = reportDelayMs;
+        this.legacy = legacy;
+        this.phy = phy;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public static ScanProfile fromPreset(int preset) {
+        switch (preset) {
+            case PRESET_BALANCED:
+                return new ScanProfile(ScanSettings.SCAN_MODE_BALANCED, ScanSettings.CALLBACK_TYPE_ALL_MATCHES,
+                        ScanSettings.MATCH_MODE_STICKY, ScanSettings.MATCH_NUM_FEW_ADVERTISEMENT, 0, true,
+                        ScanSettings.PHY_LE_ALL_SUPPORTED, DEFAULT_TIMEOUT_MS);
+            case PRESET_BACKGROUND:
+                // 컨트롤러 측 배치(5초)로 콜백/wakeup 최소화, 시간 제한 없음
+                return new ScanProfile(ScanSettings.SCAN_MODE_LOW_POWER, ScanSettings.CALLBACK_TYPE_ALL_MATCHES,
+                        ScanSettings.MATCH_MODE_STICKY, ScanSettings.MATCH_NUM_FEW_ADVERTISEMENT, 5000, true,
+                        ScanSettings.PHY_LE_ALL_SUPPORTED, 0);
+            case PRESET_FOREGROUND:
+            default:
+                return createDefault();
+        }
+    }
+
+    // 기존 동작과 동일: LOW_LATENCY, ALL_MATCHES, 30초
+    public static ScanProfile createDefault() {
+        return new ScanProfile(ScanSettings.SCAN_MODE_LOW_LATENCY, ScanSettings.CALLBACK_TYPE_ALL_MATCHES,
+                ScanSettings.MATCH_MODE_AGGRESSIVE, ScanSettings.MATCH_NUM_MAX_ADVERTISEMENT, 0, true,
+                ScanSettings.PHY_LE_ALL_SUPPORTED, DEFAULT_TIMEOUT_MS);
+    }
+
+    public int getScanMode() {
+        return scanMode;
+    }
+
+    public int getCallbackType() {
+        return callbackType;
+    }
+
+    public int getMatchMode() {
+        return matchMode;
+    }
+
+    public int getNumOfMatches() {
+        return numOfMatches;
+    }
+
+    public long getReportDelayMs() {
+        return reportDelayMs;
+    }
+
+    public boolean isLegacy() {
+        return legacy;
+    }
+
+    public int getPhy() {
+        return phy;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public String describe() {
+        return "mode " + scanMode + ", callback " + callbackType + ", match " + matchMode + "/" + numOfMatches
+                + ", reportDelay " + reportDelayMs + "ms, legacy " + legacy + ", phy " + phy + ", timeout " + timeoutMs + "ms";
+    }
+}
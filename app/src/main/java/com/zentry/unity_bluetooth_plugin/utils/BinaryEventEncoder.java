@@ -0,0 +1,416 @@
+package com.zentry.unity_bluetooth_plugin.utils;
+
+import com.zentry.unity_bluetooth_plugin.models.AdvertisingRecord;
+import com.zentry.unity_bluetooth_plugin.models.BLEMessage;
+import com.zentry.unity_bluetooth_plugin.scan.AdvertisingDataParser;
+
+import java.util.Arrays;
+
+// 모든 BLEMessage.TYPE_* 이벤트용 바이너리 TLV 포맷 (little-endian)
+//
+// Event
+//   u8  VERSION
+//   u8  event type (EVENT_*)
+//   u16 body length
+//   body: TLV 반복
+// TLV
+//   u8  tag (TAG_*)
+//   u16 value length
+//   value
+//     TAG_ADDRESS: 길이 6 이면 MAC 바이트, 그 외 UTF-8
+//     TAG_*_UUID : 길이 16 이면 UUID 바이트(big-endian), 그 외 UTF-8
+//     TAG_DATA   : raw bytes (EVENT_GATT_TABLE 은 GattDatabase.toCompactBytes() 형식)
+//     TAG_RSSI, TAG_MTU, TAG_BYTES_SENT, TAG_TOTAL_BYTES, TAG_BYTES_PER_SECOND: i32
+//     TAG_NAME, TAG_ERROR: UTF-8
+//     TAG_FLAGS, TAG_TX_POWER, TAG_ELAPSED_MS: i32
+//     TAG_MANUFACTURER_DATA: company ID(u16) + data
+//     TAG_SERVICE_DATA: UUID(16, big-endian) + data
+//   EVENT_DEVICE_DISCOVERED 가 디코딩된 광고 데이터(PAYLOAD_DECODED)를 가지면 TAG_DATA 대신
+//   TAG_FLAGS, TAG_TX_POWER(광고에 있을 때), UUID 마다 TAG_SERVICE_UUID(16), TAG_MANUFACTURER_DATA, TAG_SERVICE_DATA 를 반복
+//   EVENT_DEVICES_UPDATED 는 디바이스마다 (TAG_ADDRESS, TAG_RSSI, TAG_DATA) 가 순서대로 반복 (광고 데이터가 없으면 길이 0)
+//   EVENT_NEAREST_DEVICES_CHANGED 는 순위 순서대로 (TAG_ADDRESS, TAG_RSSI) 반복
+public class BinaryEventEncoder {
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 4;
+
+    public static final int EVENT_INITIALIZED = 1;
+    public static final int EVENT_ERROR = 2;
+    public static final int EVENT_DEVICE_DISCOVERED = 3;
+    public static final int EVENT_DEVICE_CONNECTED = 4;
+    public static final int EVENT_DEVICE_DISCONNECTED = 5;
+    public static final int EVENT_SERVICE_DISCOVERED = 6;
+    public static final int EVENT_CHARACTERISTIC_DISCOVERED = 7;
+    public static final int EVENT_DATA_RECEIVED = 8;
+    public static final int EVENT_MTU_CHANGED = 9;
+    public static final int EVENT_NOTIFICATION_STATE_CHANGED = 10;
+    public static final int EVENT_RSSI_READ = 11;
+    public static final int EVENT_WRITE_STREAM_PROGRESS = 12;
+    public static final int EVENT_WRITE_STREAM_COMPLETED = 13;
+    public static final int EVENT_DEVICES_UPDATED = 14;
+    public static final int EVENT_DEVICE_LOST = 15;
+    public static final int EVENT_NEAREST_DEVICES_CHANGED = 16;
+    public static final int EVENT_DEVICE_RECONNECTED = 17;
+    public static final int EVENT_GATT_TABLE = 18;
+    public static final int EVENT_SERVICES_READY = 19;
+
+    public static final int TAG_ADDRESS = 1;
+    public static final int TAG_NAME = 2;
+    public static final int TAG_SERVICE_UUID = 3;
+    public static final int TAG_CHARACTERISTIC_UUID = 4;
+    public static final int TAG_DATA = 5;
+    public static final int TAG_RSSI = 6;
+    public static final int TAG_MTU = 7;
+    public static final int TAG_ERROR = 8;
+    public static final int TAG_BYTES_SENT = 9;
+    public static final int TAG_TOTAL_BYTES = 10;
+    public static final int TAG_BYTES_PER_SECOND = 11;
+    public static final int TAG_FLAGS = 12;
+    public static final int TAG_TX_POWER = 13;
+    public static final int TAG_MANUFACTURER_DATA = 14;
+    public static final int TAG_SERVICE_DATA = 15;
+    public static final int TAG_ELAPSED_MS = 16;
+
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final byte[] EMPTY_DATA = new byte[0];
+
+    private static final ThreadLocal<BinaryEventEncoder> encoders = new ThreadLocal<BinaryEventEncoder>() {
+        @Override
+        protected BinaryEventEncoder initialValue() {
+            return new BinaryEventEncoder();
+        }
+    };
+
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    public static BinaryEventEncoder get() {
+        BinaryEventEncoder encoder = encoders.get();
+        if (encoder.buffer.length > MAX_RETAINED_CAPACITY) {
+            encoder.buffer = new byte[256];
+        }
+        return encoder;
+    }
+
+    // 인코딩된 길이 반환, 알 수 없는 타입이면 -1 (결과는 getBuffer()[0..length))
+    public int encode(BLEMessage message) {
+        int eventType = toEventType(message.getType());
+        if (eventType < 0) {
+            return -1;
+        }
+
+        position = HEADER_SIZE;
+        putString(TAG_ADDRESS, message.getAddress(), true, false);
+        putString(TAG_NAME, message.getName(), false, false);
+        putString(TAG_SERVICE_UUID, message.getServiceUUID(), false, true);
+        putString(TAG_CHARACTERISTIC_UUID, message.getCharacteristicUUID(), false, true);
+        putString(TAG_ERROR, message.getError(), false, false);
+
+        switch (eventType) {
+            case EVENT_DEVICE_DISCOVERED:
+            case EVENT_RSSI_READ:
+                putInt(TAG_RSSI, message.getRssi());
+                break;
+            case EVENT_MTU_CHANGED:
+                putInt(TAG_MTU, message.getMtu());
+                break;
+            case EVENT_DEVICE_RECONNECTED:
+                putInt(TAG_ELAPSED_MS, message.getElapsedMs());
+                break;
+            case EVENT_WRITE_STREAM_PROGRESS:
+            case EVENT_WRITE_STREAM_COMPLETED:
+                putInt(TAG_BYTES_SENT, message.getBytesSent());
+                putInt(TAG_TOTAL_BYTES, message.getTotalBytes());
+                putInt(TAG_BYTES_PER_SECOND, message.getBytesPerSecond());
+                break;
+            case EVENT_DEVICES_UPDATED:
+                for (int i = 0; i < message.getDeviceCount(); i++) {
+                    putString(TAG_ADDRESS, message.getDeviceAddresses()[i], true, false);
+                    putInt(TAG_RSSI, message.getDeviceRssis()[i]);
+                    byte[] advertisingData = message.getDeviceData()[i];
+                    if (advertisingData == null) {
+                        advertisingData = EMPTY_DATA;
+                    }
+                    putBytes(TAG_DATA, advertisingData, 0, advertisingData.length);
+                }
+                break;
+            case EVENT_NEAREST_DEVICES_CHANGED:
+                for (int i = 0; i < message.getDeviceCount(); i++) {
+                    putString(TAG_ADDRESS, message.getDeviceAddresses()[i], true, false);
+                    putInt(TAG_RSSI, message.getDeviceRssis()[i]);
+                }
+                break;
+            default:
+                break;
+        }
+
+        AdvertisingRecord record = message.getAdvertisingRecord();
+        byte[] data = message.getData();
+        if (record != null) {
+            putAdvertisingRecord(record);
+        } else if (data != null) {
+            putBytes(TAG_DATA, data, 0, data.length);
+        }
+
+        int bodyLength = position - HEADER_SIZE;
+        if (bodyLength > 0xFFFF) {
+            return -1;
+        }
+        buffer[0] = (byte) VERSION;
+        buffer[1] = (byte) eventType;
+        buffer[2] = (byte) bodyLength;
+        buffer[3] = (byte) (bodyLength >> 8);
+        return position;
+    }
+
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public byte[] toByteArray(int length) {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    public static int toEventType(String type) {
+        switch (type) {
+            case BLEMessage.TYPE_INITIALIZED:
+                return EVENT_INITIALIZED;
+            case BLEMessage.TYPE_ERROR:
+                return EVENT_ERROR;
+            case BLEMessage.TYPE_DEVICE_DISCOVERED:
+                return EVENT_DEVICE_DISCOVERED;
+            case BLEMessage.TYPE_DEVICE_CONNECTED:
+                return EVENT_DEVICE_CONNECTED;
+            case BLEMessage.TYPE_DEVICE_DISCONNECTED:
+                return EVENT_DEVICE_DISCONNECTED;
+            case BLEMessage.TYPE_SERVICE_DISCOVERED:
+                return EVENT_SERVICE_DISCOVERED;
+            case BLEMessage.TYPE_CHARACTERISTIC_DISCOVERED:
+                return EVENT_CHARACTERISTIC_DISCOVERED;
+            case BLEMessage.TYPE_DATA_RECEIVED:
+                return EVENT_DATA_RECEIVED;
+            case BLEMessage.TYPE_MTU_CHANGED:
+                return EVENT_MTU_CHANGED;
+            case BLEMessage.TYPE_NOTIFICATION_STATE_CHANGED:
+                return EVENT_NOTIFICATION_STATE_CHANGED;
+            case BLEMessage.TYPE_RSSI_READ:
+                return EVENT_RSSI_READ;
+            case BLEMessage.TYPE_WRITE_STREAM_PROGRESS:
+                return EVENT_WRITE_STREAM_PROGRESS;
+            case BLEMessage.TYPE_WRITE_STREAM_COMPLETED:
+                return EVENT_WRITE_STREAM_COMPLETED;
+            case BLEMessage.TYPE_DEVICES_UPDATED:
+                return EVENT_DEVICES_UPDATED;
+            case BLEMessage.TYPE_DEVICE_LOST:
+                return EVENT_DEVICE_LOST;
+            case BLEMessage.TYPE_NEAREST_DEVICES_CHANGED:
+                return EVENT_NEAREST_DEVICES_CHANGED;
+            case BLEMessage.TYPE_DEVICE_RECONNECTED:
+                return EVENT_DEVICE_RECONNECTED;
+            case BLEMessage.TYPE_GATT_TABLE:
+                return EVENT_GATT_TABLE;
+            case BLEMessage.TYPE_SERVICES_READY:
+                return EVENT_SERVICES_READY;
+            default:
+                return -1;
+        }
+    }
+
+    private void putInt(int tag, int value) {
+        ensureCapacity(3 + 4);
+        putHeader(tag, 4);
+        buffer[position++] = (byte) value;
+        buffer[position++] = (byte) (value >> 8);
+        buffer[position++] = (byte) (value >> 16);
+        buffer[position++] = (byte) (value >> 24);
+    }
+
+    private void putBytes(int tag, byte[] data, int offset, int length) {
+        ensureCapacity(3 + length);
+        putHeader(tag, length);
+        System.arraycopy(data, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void putAdvertisingRecord(AdvertisingRecord record) {
+        byte[] source = record.getSource();
+        if (record.getFlags() != AdvertisingRecord.NO_FLAGS) {
+            putInt(TAG_FLAGS, record.getFlags());
+        }
+        if (record.getTxPower() != AdvertisingRecord.NO_TX_POWER) {
+            putInt(TAG_TX_POWER, record.getTxPower());
+        }
+
+        for (int i = 0; i < record.getServiceUuidFieldCount(); i++) {
+            int offset = record.getServiceUuidOffset(i);
+            int width = record.getServiceUuidWidth(i);
+            int end = offset + record.getServiceUuidLength(i);
+            for (int uuidOffset = offset; uuidOffset + width <= end; uuidOffset += width) {
+                ensureCapacity(3 + 16);
+                putHeader(TAG_SERVICE_UUID, 16);
+                putAdvertisedUuid(source, uuidOffset, width);
+            }
+        }
+
+        for (int i = 0; i < record.getManufacturerCount(); i++) {
+            putBytes(TAG_MANUFACTURER_DATA, source, record.getManufacturerOffset(i), record.getManufacturerLength(i));
+        }
+
+        for (int i = 0; i < record.getServiceDataCount(); i++) {
+            int offset = record.getServiceDataOffset(i);
+            int width = record.getServiceDataWidth(i);
+            int dataLength = record.getServiceDataLength(i) - width;
+            ensureCapacity(3 + 16 + dataLength);
+            putHeader(TAG_SERVICE_DATA, 16 + dataLength);
+            putAdvertisedUuid(source, offset, width);
+            System.arraycopy(source, offset + width, buffer, position, dataLength);
+            position += dataLength;
+        }
+    }
+
+    // 광고의 16/32/128비트 little-endian UUID 를 128비트 big-endian 으로 기록
+    private void putAdvertisedUuid(byte[] source, int offset, int width) {
+        long msb;
+        long lsb;
+        if (width == 2) {
+            msb = AdvertisingDataParser.shortUuidMsb(AdvertisingDataParser.readUInt16(source, offset));
+            lsb = AdvertisingDataParser.BASE_UUID_LSB;
+        } else if (width == 4) {
+            msb = AdvertisingDataParser.shortUuidMsb(AdvertisingDataParser.readUInt32(source, offset));
+            lsb = AdvertisingDataParser.BASE_UUID_LSB;
+        } else {
+            msb = AdvertisingDataParser.readUuidMsb(source, offset);
+            lsb = AdvertisingDataParser.readUuidLsb(source, offset);
+        }
+        putLongBE(msb);
+        putLongBE(lsb);
+    }
+
+    private void putLongBE(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >> shift);
+        }
+    }
+
+    private void putString(int tag, String value, boolean macAddress, boolean uuid) {
+        if (value == null) {
+            return;
+        }
+
+        if (macAddress && value.length() == 17 && putMacAddress(tag, value)) {
+            return;
+        }
+        if (uuid && value.length() == 36 && putUuid(tag, value)) {
+            return;
+        }
+
+        int length = value.length();
+        ensureCapacity(3 + length * 3);
+        int start = position;
+        position += 3;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // 서로게이트 쌍은 코드 포인트 하나로 4바이트 인코딩 (CESU-8 6바이트가 되지 않도록)
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 짝이 없는 서로게이트는 String.getBytes(UTF_8) 와 같이 '?'
+                buffer[position++] = (byte) '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        int valueLength = position - start - 3;
+        buffer[start] = (byte) tag;
+        buffer[start + 1] = (byte) valueLength;
+        buffer[start + 2] = (byte) (valueLength >> 8);
+    }
+
+    private boolean putMacAddress(int tag, String value) {
+        for (int i = 2; i < 17; i += 3) {
+            if (value.charAt(i) != ':') {
+                return false;
+            }
+        }
+
+        ensureCapacity(3 + 6);
+        int start = position;
+        putHeader(tag, 6);
+        for (int i = 0; i < 6; i++) {
+            int high = hexValue(value.charAt(i * 3));
+            int low = hexValue(value.charAt(i * 3 + 1));
+            if (high < 0 || low < 0) {
+                position = start;
+                return false;
+            }
+            buffer[position++] = (byte) ((high << 4) | low);
+        }
+        return true;
+    }
+
+    private boolean putUuid(int tag, String value) {
+        ensureCapacity(3 + 16);
+        int start = position;
+        putHeader(tag, 16);
+
+        int i = 0;
+        while (i < 36) {
+            char c = value.charAt(i);
+            if (c == '-') {
+                i++;
+                continue;
+            }
+            int high = hexValue(c);
+            int low = i + 1 < 36 ? hexValue(value.charAt(i + 1)) : -1;
+            if (high < 0 || low < 0) {
+                position = start;
+                return false;
+            }
+            buffer[position++] = (byte) ((high << 4) | low);
+            i += 2;
+        }
+
+        if (position - start - 3 != 16) {
+            position = start;
+            return false;
+        }
+        return true;
+    }
+
+    private void putHeader(int tag, int length) {
+        buffer[position++] = (byte) tag;
+        buffer[position++] = (byte) length;
+        buffer[position++] = (byte) (length >> 8);
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = position + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.zentry.unity_bluetooth_plugin.utils;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+public class GattWorker {
+    private final HandlerThread thread;
+    private final Handler handler;
+
+    public GattWorker(String name) {
+        // 기본 우선순위보다 한 단계 높게 (MORE_FAVORABLE 은 단독 우선순위가 아니라 증감 단위)
+        thread = new HandlerThread(name, Process.THREAD_PRIORITY_DEFAULT + Process.THREAD_PRIORITY_MORE_FAVORABLE);
+        thread.start();
+        handler = new Handler(thread.getLooper());
+    }
+
+    public Handler getHandler() {
+        return handler;
+    }
+
+    public boolean isCurrentThread() {
+        return Looper.myLooper() == thread.getLooper();
+    }
+
+    public void run(Runnable runnable) {
+        if (isCurrentThread()) {
+            runnable.run();
+        } else {
+            handler.post(runnable);
+        }
+    }
+
+    public void post(Runnable runnable) {
+        handler.post(runnable);
+    }
+
+    public void postDelayed(Runnable runnable, long delayMillis) {
+        handler.postDelayed(runnable, delayMillis);
+    }
+
+    public void cancel(Runnable runnable) {
+        handler.removeCallbacks(runnable);
+    }
+
+    // 이미 올라간 작업(요청 큐 정리 등)은 실행한 뒤 종료, 아직 시각이 안 된 지연 작업(타임아웃/재시도)은 버림
+    public void quit() {
+        thread.quitSafely();
+    }
+}
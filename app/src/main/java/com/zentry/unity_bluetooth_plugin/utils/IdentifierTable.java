@@ -0,0 +1,67 @@
+package com.zentry.unity_bluetooth_plugin.utils;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 문자열 식별자(주소, 특성 UUID)를 프로세스 수명 동안 고정된 작은 정수 인덱스로 매핑
+// maxSize 를 지정하면 그 이상은 등록하지 않음 (고정 폭 필드에 인덱스를 기록하는 경우)
+public class IdentifierTable {
+    public static final int NO_INDEX = -1;
+
+    private final ConcurrentHashMap<String, Integer> indices = new ConcurrentHashMap<>();
+    private final ArrayList<String> values = new ArrayList<>();
+    private final int maxSize;
+    private volatile String[] snapshot = new String[0];
+
+    public IdentifierTable() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public IdentifierTable(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // 없으면 등록, 가득 찼으면 NO_INDEX
+    public int indexOf(String value) {
+        Integer index = indices.get(value);
+        if (index != null) {
+            return index;
+        }
+        return register(value);
+    }
+
+    // 등록하지 않고 조회만, 없으면 NO_INDEX
+    public int find(String value) {
+        Integer index = indices.get(value);
+        return index != null ? index : NO_INDEX;
+    }
+
+    public String get(int index) {
+        String[] current = snapshot;
+        return index >= 0 && index < current.length ? current[index] : null;
+    }
+
+    public String[] toArray() {
+        return snapshot.clone();
+    }
+
+    public int size() {
+        return snapshot.length;
+    }
+
+    private synchronized int register(String value) {
+        Integer index = indices.get(value);
+        if (index != null) {
+            return index;
+        }
+
+        int newIndex = values.size();
+        if (newIndex >= maxSize) {
+            return NO_INDEX;
+        }
+        values.add(value);
+        snapshot = values.toArray(new String[0]);
+        indices.put(value, newIndex);
+        return newIndex;
+    }
+}
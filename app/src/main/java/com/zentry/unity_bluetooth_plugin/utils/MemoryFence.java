@@ -0,0 +1,39 @@
+package com.zentry.unity_bluetooth_plugin.utils;
+
+import android.os.Build;
+
+import java.lang.invoke.VarHandle;
+
+// direct ByteBuffer 를 네이티브(Unity) 쪽과 공유할 때 쓰는 메모리 펜스
+// Java 의 volatile 필드는 네이티브 reader 가 읽는 버퍼 영역의 순서를 보장하지 않으므로 명시적 펜스 사용
+// API 33+: VarHandle, API 21~32: volatile store 후 volatile load (ART 가 volatile store 앞뒤로 전체 배리어 dmb 생성)
+public final class MemoryFence {
+    private static volatile int barrier;
+
+    private MemoryFence() {
+    }
+
+    // 이전 store 가 이후 store 보다 먼저 보이도록 (공유 버퍼 write index 기록 직전)
+    public static void release() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            VarHandle.releaseFence();
+        } else {
+            fullBarrier();
+        }
+    }
+
+    // 이전 load 가 이후 load/store 보다 먼저 수행되도록 (공유 버퍼 read index 읽은 직후)
+    public static void acquire() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            VarHandle.acquireFence();
+        } else {
+            fullBarrier();
+        }
+    }
+
+    // volatile store 뒤의 volatile load 는 재배치될 수 없음
+    private static int fullBarrier() {
+        barrier = 0;
+        return barrier;
+    }
+}
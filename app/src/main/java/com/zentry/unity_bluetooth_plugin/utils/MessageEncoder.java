@@ -0,0 +1,326 @@
+package com.zentry.unity_bluetooth_plugin.utils;
+
+import com.zentry.unity_bluetooth_plugin.models.BLEMessage;
+
+// BLEMessage 의 typed 필드를 재사용 StringBuilder 에 바로 기록 (JSONObject 생성/파싱 없음)
+public class MessageEncoder {
+    private static final char DELIMITER = '~';
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final char[] BASE64_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<StringBuilder> builders = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+    };
+
+    public static String encodeLegacy(BLEMessage message) {
+        StringBuilder sb = obtainBuilder();
+        if (!appendLegacy(sb, message)) {
+            return encodeJson(message);
+        }
+        return sb.toString();
+    }
+
+    public static boolean appendLegacy(StringBuilder sb, BLEMessage message) {
+        switch (message.getType()) {
+            case BLEMessage.TYPE_INITIALIZED:
+                sb.append("Initialized");
+                return true;
+
+            case BLEMessage.TYPE_ERROR:
+                sb.append("Error~");
+                appendString(sb, message.getError());
+                return true;
+
+            case BLEMessage.TYPE_DEVICE_DISCOVERED:
+                sb.append("DiscoveredPeripheral~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                appendString(sb, message.getName());
+                sb.append(DELIMITER);
+                sb.append(message.getRssi());
+                sb.append(DELIMITER);
+                appendBase64(sb, message.getData());
+                return true;
+
+            case BLEMessage.TYPE_DEVICE_CONNECTED:
+                sb.append("ConnectedPeripheral~");
+                appendString(sb, message.getAddress());
+                return true;
+
+            case BLEMessage.TYPE_DEVICE_DISCONNECTED:
+                sb.append("DisconnectedPeripheral~");
+                appendString(sb, message.getAddress());
+                return true;
+
+            case BLEMessage.TYPE_DEVICE_LOST:
+                sb.append("LostPeripheral~");
+                appendString(sb, message.getAddress());
+                return true;
+
+            case BLEMessage.TYPE_DEVICE_RECONNECTED:
+                sb.append("ReconnectedPeripheral~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                sb.append(message.getElapsedMs());
+                return true;
+
+            case BLEMessage.TYPE_SERVICES_READY:
+                sb.append("ServicesReady~");
+                appendString(sb, message.getAddress());
+                return true;
+
+            case BLEMessage.TYPE_GATT_TABLE:
+                sb.append("GattTable~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                appendBase64(sb, message.getData());
+                return true;
+
+            case BLEMessage.TYPE_SERVICE_DISCOVERED:
+                sb.append("DiscoveredService~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                appendString(sb, message.getServiceUUID());
+                return true;
+
+            case BLEMessage.TYPE_CHARACTERISTIC_DISCOVERED:
+                sb.append("DiscoveredCharacteristic~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                appendString(sb, message.getServiceUUID());
+                sb.append(DELIMITER);
+                appendString(sb, message.getCharacteristicUUID());
+                return true;
+
+            case BLEMessage.TYPE_DATA_RECEIVED:
+                sb.append("DidUpdateValueForCharacteristic~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                appendString(sb, message.getCharacteristicUUID());
+                sb.append(DELIMITER);
+                appendBase64(sb, message.getData());
+                return true;
+
+            case BLEMessage.TYPE_MTU_CHANGED:
+                sb.append("MtuChanged~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                sb.append(message.getMtu());
+                return true;
+
+            case BLEMessage.TYPE_NOTIFICATION_STATE_CHANGED:
+                sb.append("DidUpdateNotificationStateForCharacteristic~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                appendString(sb, message.getCharacteristicUUID());
+                return true;
+
+            case BLEMessage.TYPE_RSSI_READ:
+                sb.append("DidReadRSSI~");
+                appendString(sb, message.getAddress());
+                sb.append(DELIMITER);
+                sb.append(message.getRssi());
+                return true;
+
+            case BLEMessage.TYPE_WRITE_STREAM_PROGRESS:
+                sb.append("WriteStreamProgress~");
+                appendWriteStream(sb, message);
+                return true;
+
+            case BLEMessage.TYPE_WRITE_STREAM_COMPLETED:
+                sb.append("WriteStreamCompleted~");
+                appendWriteStream(sb, message);
+                sb.append(DELIMITER);
+                appendString(sb, message.getError());
+                return true;
+
+            case BLEMessage.TYPE_DEVICES_UPDATED:
+                sb.append("DevicesUpdated");
+                for (int i = 0; i < message.getDeviceCount(); i++) {
+                    sb.append(DELIMITER);
+                    appendString(sb, message.getDeviceAddresses()[i]);
+                    sb.append(DELIMITER);
+                    sb.append(message.getDeviceRssis()[i]);
+                    sb.append(DELIMITER);
+                    appendBase64(sb, message.getDeviceData()[i]);
+                }
+                return true;
+
+            case BLEMessage.TYPE_NEAREST_DEVICES_CHANGED:
+                sb.append("NearestDevicesChanged");
+                for (int i = 0; i < message.getDeviceCount(); i++) {
+                    sb.append(DELIMITER);
+                    appendString(sb, message.getDeviceAddresses()[i]);
+                    sb.append(DELIMITER);
+                    sb.append(message.getDeviceRssis()[i]);
+                }
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    public static String encodeJson(BLEMessage message) {
+        StringBuilder sb = obtainBuilder();
+        sb.append('{');
+        appendJsonField(sb, "type", message.getType(), true);
+        appendJsonField(sb, "address", message.getAddress(), false);
+        appendJsonField(sb, "name", message.getName(), false);
+        appendJsonField(sb, "serviceUUID", message.getServiceUUID(), false);
+        appendJsonField(sb, "characteristicUUID", message.getCharacteristicUUID(), false);
+        appendJsonField(sb, "error", message.getError(), false);
+
+        switch (message.getType()) {
+            case BLEMessage.TYPE_DEVICE_DISCOVERED:
+            case BLEMessage.TYPE_RSSI_READ:
+                sb.append(",\"rssi\":").append(message.getRssi());
+                break;
+            case BLEMessage.TYPE_MTU_CHANGED:
+                sb.append(",\"mtu\":").append(message.getMtu());
+                break;
+            case BLEMessage.TYPE_DEVICE_RECONNECTED:
+                sb.append(",\"elapsedMs\":").append(message.getElapsedMs());
+                break;
+            case BLEMessage.TYPE_WRITE_STREAM_PROGRESS:
+            case BLEMessage.TYPE_WRITE_STREAM_COMPLETED:
+                sb.append(",\"bytesSent\":").append(message.getBytesSent());
+                sb.append(",\"totalBytes\":").append(message.getTotalBytes());
+                sb.append(",\"bytesPerSecond\":").append(message.getBytesPerSecond());
+                break;
+            default:
+                break;
+        }
+
+        if (message.getDeviceCount() > 0) {
+            sb.append(",\"devices\":[");
+            for (int i = 0; i < message.getDeviceCount(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append('{');
+                appendJsonField(sb, "address", message.getDeviceAddresses()[i], true);
+                sb.append(",\"rssi\":").append(message.getDeviceRssis()[i]);
+                if (message.getDeviceData() != null && message.getDeviceData()[i] != null) {
+                    sb.append(",\"data\":\"");
+                    appendBase64(sb, message.getDeviceData()[i]);
+                    sb.append('"');
+                }
+                sb.append('}');
+            }
+            sb.append(']');
+        }
+
+        if (message.getData() != null) {
+            sb.append(",\"data\":\"");
+            appendBase64(sb, message.getData());
+            sb.append('"');
+        }
+
+        sb.append('}');
+        return sb.toString();
+    }
+
+    public static void appendBase64(StringBuilder sb, byte[] data) {
+        if (data == null) {
+            return;
+        }
+
+        int length = data.length;
+        int i = 0;
+        while (i + 3 <= length) {
+            int chunk = ((data[i] & 0xFF) << 16) | ((data[i + 1] & 0xFF) << 8) | (data[i + 2] & 0xFF);
+            sb.append(BASE64_ALPHABET[(chunk >> 18) & 0x3F]);
+            sb.append(BASE64_ALPHABET[(chunk >> 12) & 0x3F]);
+            sb.append(BASE64_ALPHABET[(chunk >> 6) & 0x3F]);
+            sb.append(BASE64_ALPHABET[chunk & 0x3F]);
+            i += 3;
+        }
+
+        int remaining = length - i;
+        if (remaining == 1) {
+            int chunk = (data[i] & 0xFF) << 16;
+            sb.append(BASE64_ALPHABET[(chunk >> 18) & 0x3F]);
+            sb.append(BASE64_ALPHABET[(chunk >> 12) & 0x3F]);
+            sb.append("==");
+        } else if (remaining == 2) {
+            int chunk = ((data[i] & 0xFF) << 16) | ((data[i + 1] & 0xFF) << 8);
+            sb.append(BASE64_ALPHABET[(chunk >> 18) & 0x3F]);
+            sb.append(BASE64_ALPHABET[(chunk >> 12) & 0x3F]);
+            sb.append(BASE64_ALPHABET[(chunk >> 6) & 0x3F]);
+            sb.append('=');
+        }
+    }
+
+    private static StringBuilder obtainBuilder() {
+        StringBuilder sb = builders.get();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            sb = new StringBuilder(256);
+            builders.set(sb);
+        }
+        sb.setLength(0);
+        return sb;
+    }
+
+    // address~characteristic~bytesSent~totalBytes~bytesPerSecond
+    private static void appendWriteStream(StringBuilder sb, BLEMessage message) {
+        appendString(sb, message.getAddress());
+        sb.append(DELIMITER);
+        appendString(sb, message.getCharacteristicUUID());
+        sb.append(DELIMITER);
+        sb.append(message.getBytesSent());
+        sb.append(DELIMITER);
+        sb.append(message.getTotalBytes());
+        sb.append(DELIMITER);
+        sb.append(message.getBytesPerSecond());
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value != null) {
+            sb.append(value);
+        }
+    }
+
+    private static void appendJsonField(StringBuilder sb, String key, String value, boolean first) {
+        if (value == null) {
+            return;
+        }
+        if (!first) {
+            sb.append(',');
+        }
+        sb.append('"').append(key).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                    break;
+            }
+        }
+        sb.append('"');
+    }
+}
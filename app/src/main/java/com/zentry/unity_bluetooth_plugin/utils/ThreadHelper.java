@@ -2,9 +2,15 @@ package com.zentry.unity_bluetooth_plugin.utils;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.util.Log;
+
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ThreadHelper {
+    private static final String TAG = "ThreadHelper";
     private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final ConcurrentHashMap<String, GattWorker> deviceWorkers = new ConcurrentHashMap<>();
+    private static volatile GattWorker scanWorker;
 
     public static void runOnMainThread(Runnable runnable) {
         if (Looper.myLooper() == Looper.getMainLooper()) {
@@ -18,7 +24,103 @@ public class ThreadHelper {
         mainHandler.postDelayed(runnable, delayMillis);
     }
 
+    public static void cancelOnMainThread(Runnable runnable) {
+        mainHandler.removeCallbacks(runnable);
+    }
+
     public static boolean isMainThread() {
         return Looper.myLooper() == Looper.getMainLooper();
     }
+
+    // 스캔 결과 처리, 디바이스 테이블, 스캔 타이머는 전용 스캔 스레드 하나에서 실행
+    public static void runOnScanThread(Runnable runnable) {
+        getScanWorker().run(runnable);
+    }
+
+    public static void postOnScanThread(Runnable runnable) {
+        getScanWorker().post(runnable);
+    }
+
+    public static void runOnScanThreadDelayed(Runnable runnable, long delayMillis) {
+        getScanWorker().postDelayed(runnable, delayMillis);
+    }
+
+    public static void cancelOnScanThread(Runnable runnable) {
+        GattWorker worker = scanWorker;
+        if (worker != null) {
+            worker.cancel(runnable);
+        }
+    }
+
+    public static boolean isScanThread() {
+        GattWorker worker = scanWorker;
+        return worker != null && worker.isCurrentThread();
+    }
+
+    // 디바이스별 GATT 작업은 연결마다 전용 HandlerThread 에서 실행 (Unity 메인 스레드와 분리)
+    // 스레드는 연결 시작 시 startDeviceThread 로 만들고 연결 종료 시 releaseDeviceThread 로 해제, 그 외에는 새로 만들지 않음
+    public static GattWorker startDeviceThread(String address) {
+        GattWorker worker = new GattWorker("BLE-GATT-" + address);
+        GattWorker previous = deviceWorkers.put(address, worker);
+        if (previous != null) {
+            // 이전 연결이 아직 해제 전이면 그 연결의 release 가 종료시킴, 이후 작업은 새 스레드로
+            Log.d(TAG, "Replacing device thread: " + address);
+        }
+        return worker;
+    }
+
+    // 해제된 디바이스(연결 종료 후 늦게 들어온 요청 등)는 호출 스레드에서 바로 실행
+    public static void runOnDeviceThread(String address, Runnable runnable) {
+        GattWorker worker = deviceWorkers.get(address);
+        if (worker != null) {
+            worker.run(runnable);
+        } else {
+            runnable.run();
+        }
+    }
+
+    // 해제된 디바이스의 지연 작업(타임아웃/재시도)은 버림
+    public static void runOnDeviceThreadDelayed(String address, Runnable runnable, long delayMillis) {
+        GattWorker worker = deviceWorkers.get(address);
+        if (worker != null) {
+            worker.postDelayed(runnable, delayMillis);
+        } else {
+            Log.d(TAG, "Device thread released, dropping delayed task: " + address);
+        }
+    }
+
+    public static void cancelOnDeviceThread(String address, Runnable runnable) {
+        GattWorker worker = deviceWorkers.get(address);
+        if (worker != null) {
+            worker.cancel(runnable);
+        }
+    }
+
+    public static boolean isDeviceThread(String address) {
+        GattWorker worker = deviceWorkers.get(address);
+        return worker != null && worker.isCurrentThread();
+    }
+
+    // 이 연결의 스레드만 해제 (같은 주소로 이미 새 연결이 시작됐으면 그 스레드는 유지)
+    public static void releaseDeviceThread(String address, GattWorker worker) {
+        if (worker == null) {
+            return;
+        }
+        deviceWorkers.remove(address, worker);
+        worker.quit();
+    }
+
+    private static GattWorker getScanWorker() {
+        GattWorker worker = scanWorker;
+        if (worker == null) {
+            synchronized (ThreadHelper.class) {
+                worker = scanWorker;
+                if (worker == null) {
+                    worker = new GattWorker("BLE-Scan");
+                    scanWorker = worker;
+                }
+            }
+        }
+        return worker;
+    }
 }
@@ -1,11 +1,13 @@
 package com.zentry.unity_bluetooth_plugin.utils;
 
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class UUIDConverter {
     private static final String BASE_UUID = "00000000-0000-1000-8000-00805F9B34FB";
     private static final int SHORT_UUID_LENGTH = 4;
     private static final int FULL_UUID_LENGTH = 36;
+    private static final ConcurrentHashMap<UUID, String> upperCaseCache = new ConcurrentHashMap<>();
 
     public static String normalize(String uuid) {
         if (uuid == null || uuid.isEmpty()) {
@@ -25,6 +27,16 @@ public class UUIDConverter {
         return uuid;
     }
 
+    // 수신 경로에서 패킷마다 toString().toUpperCase() 하지 않도록 캐시
+    public static String toUpperString(UUID uuid) {
+        String cached = upperCaseCache.get(uuid);
+        if (cached == null) {
+            cached = uuid.toString().toUpperCase();
+            upperCaseCache.put(uuid, cached);
+        }
+        return cached;
+    }
+
     private static String expandShortUUID(String shortUUID) {
         return BASE_UUID.substring(0, 4) + shortUUID + BASE_UUID.substring(8);
     }
@@ -0,0 +1,101 @@
+package com.zentry.unity_bluetooth_plugin.connection;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConnectionSchedulerTest {
+    private final ConnectionScheduler scheduler = new ConnectionScheduler();
+
+    private DeviceConnection enqueue(String address, int priority) {
+        DeviceConnection connection = new DeviceConnection(null, address, priority);
+        scheduler.enqueue(connection);
+        return connection;
+    }
+
+    @Test
+    public void limitsConcurrentAttempts() {
+        DeviceConnection a = enqueue("A", 0);
+        DeviceConnection b = enqueue("B", 0);
+        DeviceConnection c = enqueue("C", 0);
+
+        assertSame(a, scheduler.poll());
+        assertSame(b, scheduler.poll());
+        assertNull(scheduler.poll());
+
+        assertTrue(scheduler.release("A"));
+        assertFalse(scheduler.release("A"));
+        assertSame(c, scheduler.poll());
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    public void reconnectsFirstThenPriorityThenRequestOrder() {
+        scheduler.setMaxInFlight(10);
+        DeviceConnection low = enqueue("low", 0);
+        DeviceConnection high = enqueue("high", 5);
+        DeviceConnection lowLater = enqueue("lowLater", 0);
+        DeviceConnection highLater = enqueue("highLater", 5);
+        DeviceConnection reconnect = new DeviceConnection(null, "reconnect", -10);
+        reconnect.startReconnect(1000);
+        scheduler.enqueue(reconnect);
+
+        assertSame(reconnect, scheduler.poll());
+        assertSame(high, scheduler.poll());
+        assertSame(highLater, scheduler.poll());
+        assertSame(low, scheduler.poll());
+        assertSame(lowLater, scheduler.poll());
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    public void skipsConnectionsNoLongerConnecting() {
+        DeviceConnection cancelled = enqueue("A", 0);
+        DeviceConnection next = enqueue("B", 0);
+        assertTrue(cancelled.moveTo(DeviceConnection.STATE_CLOSED));
+
+        assertSame(next, scheduler.poll());
+        assertFalse(scheduler.release("A"));
+    }
+
+    @Test
+    public void removeFreesPendingAndInFlight() {
+        scheduler.setMaxInFlight(1);
+        DeviceConnection a = enqueue("A", 0);
+        DeviceConnection b = enqueue("B", 0);
+        DeviceConnection c = enqueue("C", 0);
+
+        assertSame(a, scheduler.poll());
+        scheduler.remove(b);
+        scheduler.remove(a);
+        assertSame(c, scheduler.poll());
+    }
+
+    @Test
+    public void backoffGrowsExponentiallyWithJitterAndCap() {
+        long[] caps = {500, 500, 1000, 2000, 4000, 8000, 8000, 8000};
+        for (int attempt = 0; attempt < caps.length; attempt++) {
+            for (int i = 0; i < 200; i++) {
+                long delay = scheduler.backoffDelay(attempt);
+                assertTrue("attempt " + attempt + ": " + delay, delay >= caps[attempt] / 2 && delay < caps[attempt]);
+            }
+        }
+        long delay = scheduler.backoffDelay(100);
+        assertTrue(delay >= 4000 && delay < 8000);
+    }
+
+    @Test
+    public void backoffSpreadsRetries() {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 200; i++) {
+            long delay = scheduler.backoffDelay(3);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+        assertTrue(max - min > 100);
+    }
+}
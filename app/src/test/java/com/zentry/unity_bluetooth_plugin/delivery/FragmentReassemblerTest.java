@@ -0,0 +1,134 @@
+package com.zentry.unity_bluetooth_plugin.delivery;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// header 1바이트: 하위 7비트 sequence, 최상위 비트 last
+public class FragmentReassemblerTest {
+    private static final String CHAR_A = "char-a";
+    private static final String CHAR_B = "char-b";
+    private static final long TIMEOUT_NANOS = 1000;
+
+    private final FragmentReassembler reassembler = new FragmentReassembler();
+    private final FragmentReassembler.Layout layout = new FragmentReassembler.Layout(1, 0, 0x7F, 0, 0x80, TIMEOUT_NANOS, 64);
+
+    private static byte[] fragment(int sequence, boolean last, int... payload) {
+        byte[] value = new byte[payload.length + 1];
+        value[0] = (byte) (sequence | (last ? 0x80 : 0));
+        for (int i = 0; i < payload.length; i++) {
+            value[i + 1] = (byte) payload[i];
+        }
+        return value;
+    }
+
+    private byte[] frame() {
+        return Arrays.copyOf(reassembler.getFrame(), reassembler.getFrameLength());
+    }
+
+    @Test
+    public void layoutValidation() {
+        assertTrue(layout.isValid());
+        assertFalse(new FragmentReassembler.Layout(0, 0, 0x7F, 0, 0x80, TIMEOUT_NANOS, 64).isValid());
+        assertFalse(new FragmentReassembler.Layout(1, 1, 0x7F, 0, 0x80, TIMEOUT_NANOS, 64).isValid());
+        assertFalse(new FragmentReassembler.Layout(1, 0, 0x7F, 0, 0, TIMEOUT_NANOS, 64).isValid());
+        assertFalse(new FragmentReassembler.Layout(1, 0, 0x7F, 0, 0x80, 0, 64).isValid());
+    }
+
+    @Test
+    public void reassemblesInOrderFragments() {
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(0, false, 1, 2), 0));
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(1, false, 3), 10));
+        assertTrue(reassembler.accept(CHAR_A, layout, fragment(2, true, 4, 5), 20));
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, frame());
+
+        // 다음 프레임은 다시 sequence 0 부터
+        assertTrue(reassembler.accept(CHAR_A, layout, fragment(0, true, 9), 30));
+        assertArrayEquals(new byte[]{9}, frame());
+        assertEquals(2, reassembler.getStats()[FragmentReassembler.STAT_FRAMES]);
+        assertEquals(4, reassembler.getStats()[FragmentReassembler.STAT_FRAGMENTS]);
+    }
+
+    @Test
+    public void keepsCharacteristicsSeparate() {
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(0, false, 1), 0));
+        assertFalse(reassembler.accept(CHAR_B, layout, fragment(0, false, 7), 0));
+        assertTrue(reassembler.accept(CHAR_A, layout, fragment(1, true, 2), 0));
+        assertArrayEquals(new byte[]{1, 2}, frame());
+        assertTrue(reassembler.accept(CHAR_B, layout, fragment(1, true, 8), 0));
+        assertArrayEquals(new byte[]{7, 8}, frame());
+    }
+
+    @Test
+    public void sequenceGapDropsPartialFrame() {
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(0, false, 1), 0));
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(2, true, 3), 0));
+        assertEquals(2, reassembler.getStats()[FragmentReassembler.STAT_SEQUENCE_ERRORS]);
+
+        // 새로 시작하는 프레임은 정상 처리
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(0, false, 4), 0));
+        assertTrue(reassembler.accept(CHAR_A, layout, fragment(1, true, 5), 0));
+        assertArrayEquals(new byte[]{4, 5}, frame());
+    }
+
+    @Test
+    public void restartAtSequenceZeroReplacesPartialFrame() {
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(0, false, 1), 0));
+        assertTrue(reassembler.accept(CHAR_A, layout, fragment(0, true, 2), 0));
+        assertArrayEquals(new byte[]{2}, frame());
+        assertEquals(1, reassembler.getStats()[FragmentReassembler.STAT_SEQUENCE_ERRORS]);
+    }
+
+    @Test
+    public void sequenceWrapsWithMask() {
+        FragmentReassembler.Layout narrow = new FragmentReassembler.Layout(1, 0, 0x03, 0, 0x80, TIMEOUT_NANOS, 64);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(reassembler.accept(CHAR_A, narrow, fragment(i & 0x03, false, i), 0));
+        }
+        assertTrue(reassembler.accept(CHAR_A, narrow, fragment(5 & 0x03, true, 5), 0));
+        assertArrayEquals(new byte[]{0, 1, 2, 3, 4, 5}, frame());
+    }
+
+    @Test
+    public void timeoutDropsStalePartialFrame() {
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(0, false, 1), 0));
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(1, true, 2), TIMEOUT_NANOS + 1));
+        assertEquals(1, reassembler.getStats()[FragmentReassembler.STAT_TIMEOUTS]);
+    }
+
+    @Test
+    public void oversizedFrameIsDropped() {
+        FragmentReassembler.Layout small = new FragmentReassembler.Layout(1, 0, 0x7F, 0, 0x80, TIMEOUT_NANOS, 3);
+        assertFalse(reassembler.accept(CHAR_A, small, fragment(0, false, 1, 2), 0));
+        assertFalse(reassembler.accept(CHAR_A, small, fragment(1, true, 3, 4), 0));
+        assertEquals(1, reassembler.getStats()[FragmentReassembler.STAT_OVERSIZED]);
+    }
+
+    @Test
+    public void growsBufferForLargeFrames() {
+        FragmentReassembler.Layout large = new FragmentReassembler.Layout(1, 0, 0x7F, 0, 0x80, TIMEOUT_NANOS, 1024);
+        int[] payload = new int[200];
+        for (int i = 0; i < 3; i++) {
+            assertFalse(reassembler.accept(CHAR_A, large, fragment(i, false, payload), 0));
+        }
+        assertTrue(reassembler.accept(CHAR_A, large, fragment(3, true, payload), 0));
+        assertEquals(800, reassembler.getFrameLength());
+    }
+
+    @Test
+    public void truncatedFragmentIsMalformedAndDropsPartialFrame() {
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(0, false, 1), 0));
+        assertFalse(reassembler.accept(CHAR_A, layout, new byte[0], 0));
+        assertEquals(1, reassembler.getStats()[FragmentReassembler.STAT_MALFORMED]);
+
+        // 잘린 뒤 이어지는 fragment 는 진행 중 프레임이 없으므로 sequence 오류
+        assertFalse(reassembler.accept(CHAR_A, layout, fragment(1, true, 2), 0));
+        assertEquals(1, reassembler.getStats()[FragmentReassembler.STAT_SEQUENCE_ERRORS]);
+        assertEquals(0, reassembler.getStats()[FragmentReassembler.STAT_FRAMES]);
+    }
+}
@@ -0,0 +1,159 @@
+package com.zentry.unity_bluetooth_plugin.delivery;
+
+import com.zentry.unity_bluetooth_plugin.models.BLENotification;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NotificationRingTest {
+    private static final String ADDRESS = "AA:BB:CC:DD:EE:FF";
+
+    private final NotificationPool pool = new NotificationPool();
+
+    private BLENotification packet(int value) {
+        return pool.obtain(ADDRESS, "char", new byte[]{(byte) value}, value);
+    }
+
+    @Test
+    public void capacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new NotificationRing(ADDRESS, 5, NotificationRing.POLICY_DROP_OLDEST, pool).getCapacity());
+        assertEquals(8, new NotificationRing(ADDRESS, 8, NotificationRing.POLICY_DROP_OLDEST, pool).getCapacity());
+        assertEquals(1, new NotificationRing(ADDRESS, 0, NotificationRing.POLICY_DROP_OLDEST, pool).getCapacity());
+    }
+
+    @Test(timeout = 1000)
+    public void capacityIsClampedToMaximum() {
+        assertEquals(NotificationRing.MAX_CAPACITY,
+                new NotificationRing(ADDRESS, NotificationRing.MAX_CAPACITY + 1, NotificationRing.POLICY_DROP_OLDEST, pool).getCapacity());
+        assertEquals(NotificationRing.MAX_CAPACITY,
+                new NotificationRing(ADDRESS, Integer.MAX_VALUE, NotificationRing.POLICY_DROP_OLDEST, pool).getCapacity());
+    }
+
+    @Test
+    public void deliversInOrderAcrossWrap() {
+        NotificationRing ring = new NotificationRing(ADDRESS, 4, NotificationRing.POLICY_DROP_NEWEST, pool);
+        int next = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(ring.offer(packet(round * 3 + i)));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(next++, ring.poll().getTimestampNanos());
+            }
+        }
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    public void dropOldestKeepsNewestAndRecyclesDropped() {
+        NotificationRing ring = new NotificationRing(ADDRESS, 2, NotificationRing.POLICY_DROP_OLDEST, pool);
+        BLENotification first = packet(0);
+        assertTrue(ring.offer(first));
+        assertTrue(ring.offer(packet(1)));
+        assertTrue(ring.offer(packet(2)));
+
+        // 밀려난 패킷은 풀로 돌아감
+        assertNull(first.getData());
+        assertEquals(1, ring.poll().getTimestampNanos());
+        assertEquals(2, ring.poll().getTimestampNanos());
+        assertNull(ring.poll());
+        assertEquals(1, ring.getOverflowCount());
+        assertEquals(1, ring.getStats()[2]);
+    }
+
+    @Test
+    public void dropNewestRejectsWhenFull() {
+        NotificationRing ring = new NotificationRing(ADDRESS, 2, NotificationRing.POLICY_DROP_NEWEST, pool);
+        BLENotification a = packet(0);
+        BLENotification b = packet(1);
+        assertTrue(ring.offer(a));
+        assertTrue(ring.offer(b));
+        assertFalse(ring.offer(packet(2)));
+
+        assertSame(a, ring.poll());
+        assertSame(b, ring.poll());
+        assertArrayEquals(new long[]{2, 2, 0, 1, 0, 0}, ring.getStats());
+    }
+
+    @Test
+    public void blockTimesOutAndDropsNewest() {
+        NotificationRing ring = new NotificationRing(ADDRESS, 1, NotificationRing.POLICY_BLOCK, pool);
+        assertTrue(ring.offer(packet(0)));
+
+        long start = System.nanoTime();
+        assertFalse(ring.offer(packet(1)));
+        assertTrue(System.nanoTime() - start >= 50_000_000L);
+
+        long[] stats = ring.getStats();
+        assertEquals(1, stats[3]);
+        assertEquals(1, stats[4]);
+        assertEquals(1, stats[5]);
+    }
+
+    @Test
+    public void blockResumesWhenConsumerFreesSlot() throws InterruptedException {
+        final NotificationRing ring = new NotificationRing(ADDRESS, 1, NotificationRing.POLICY_BLOCK, pool);
+        assertTrue(ring.offer(packet(0)));
+
+        Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException ignored) {
+                }
+                ring.poll();
+            }
+        });
+        consumer.start();
+        assertTrue(ring.offer(packet(1)));
+        consumer.join();
+
+        assertEquals(1, ring.poll().getTimestampNanos());
+        assertEquals(0, ring.getOverflowCount());
+    }
+
+    @Test
+    public void closedRingRejectsOffers() {
+        NotificationRing ring = new NotificationRing(ADDRESS, 4, NotificationRing.POLICY_DROP_OLDEST, pool);
+        ring.close();
+        assertTrue(ring.isClosed());
+        assertFalse(ring.offer(packet(0)));
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    public void concurrentProducerAndConsumerLoseNothing() throws InterruptedException {
+        final NotificationRing ring = new NotificationRing(ADDRESS, 16, NotificationRing.POLICY_BLOCK, pool);
+        final int count = 20000;
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    while (!ring.offer(new BLENotification(ADDRESS, "char", null, i))) {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        producer.start();
+
+        long expected = 0;
+        while (expected < count) {
+            BLENotification notification = ring.poll();
+            if (notification != null) {
+                assertEquals(expected++, notification.getTimestampNanos());
+            }
+        }
+        producer.join();
+        assertTrue(ring.isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+package com.zentry.unity_bluetooth_plugin.gatt;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class GattDatabaseTest {
+    private static final String ADDRESS = "AA:BB:CC:DD:EE:FF";
+    private static final UUID HEART_RATE = UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb");
+    private static final UUID MEASUREMENT = UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb");
+    private static final UUID CCCD = UUID.fromString("00002902-0000-1000-8000-00805f9b34fb");
+    private static final UUID CUSTOM_SERVICE = UUID.fromString("6e400001-b5a3-f393-e0a9-e50e24dcca9e");
+    private static final UUID CUSTOM_TX = UUID.fromString("6e400002-b5a3-f393-e0a9-e50e24dcca9e");
+
+    private static GattDatabase database(int measurementProperties) {
+        return new GattDatabase(ADDRESS,
+                new UUID[]{HEART_RATE, CUSTOM_SERVICE},
+                new UUID[][]{{MEASUREMENT}, {CUSTOM_TX}},
+                new int[][]{{measurementProperties}, {0x08}},
+                new UUID[][][]{{{CCCD}}, {{}}});
+    }
+
+    private static byte[] serialize(GattDatabase database) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        database.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static GattDatabase deserialize(byte[] bytes) throws IOException {
+        return GattDatabase.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void roundTripPreservesTableAndHash() throws IOException {
+        GattDatabase original = database(0x10);
+        GattDatabase restored = deserialize(serialize(original));
+
+        assertNotNull(restored);
+        assertEquals(ADDRESS, restored.getAddress());
+        assertEquals(original.getHash(), restored.getHash());
+        assertEquals(2, restored.getServiceCount());
+        assertEquals(CUSTOM_SERVICE, restored.getService(1));
+        assertEquals(1, restored.getCharacteristicCount(0));
+        assertEquals(MEASUREMENT, restored.getCharacteristic(0, 0));
+        assertEquals(0x10, restored.getProperties(0, 0));
+        assertEquals(1, restored.getDescriptorCount(0, 0));
+        assertEquals(CCCD, restored.getDescriptor(0, 0, 0));
+        assertEquals(0, restored.getDescriptorCount(1, 0));
+    }
+
+    @Test
+    public void emptyTableRoundTrips() throws IOException {
+        GattDatabase empty = new GattDatabase(ADDRESS, new UUID[0], new UUID[0][], new int[0][], new UUID[0][][]);
+        GattDatabase restored = deserialize(serialize(empty));
+        assertNotNull(restored);
+        assertEquals(0, restored.getServiceCount());
+        assertArrayEquals(new byte[]{0}, restored.toCompactBytes());
+
+        // 탐색 실패 시 잠정 테이블을 대체하는 빈 OnGattTable
+        assertArrayEquals(new byte[]{0}, GattDatabase.fromServices(ADDRESS, null).toCompactBytes());
+    }
+
+    @Test
+    public void hashDependsOnContentNotAddress() {
+        assertEquals(database(0x10).getHash(), database(0x10).getHash());
+        assertNotEquals(database(0x10).getHash(), database(0x12).getHash());
+
+        GattDatabase swapped = new GattDatabase(ADDRESS,
+                new UUID[]{CUSTOM_SERVICE, HEART_RATE},
+                new UUID[][]{{CUSTOM_TX}, {MEASUREMENT}},
+                new int[][]{{0x08}, {0x10}},
+                new UUID[][][]{{{}}, {{CCCD}}});
+        assertNotEquals(database(0x10).getHash(), swapped.getHash());
+
+        GattDatabase otherAddress = new GattDatabase("11:22:33:44:55:66",
+                new UUID[]{HEART_RATE, CUSTOM_SERVICE},
+                new UUID[][]{{MEASUREMENT}, {CUSTOM_TX}},
+                new int[][]{{0x10}, {0x08}},
+                new UUID[][][]{{{CCCD}}, {{}}});
+        assertEquals(database(0x10).getHash(), otherAddress.getHash());
+    }
+
+    @Test
+    public void corruptedOrOtherVersionIsRejected() throws IOException {
+        byte[] bytes = serialize(database(0x10));
+
+        byte[] corrupted = bytes.clone();
+        // 마지막 특성의 properties 하위 바이트 (뒤에 descCount 2바이트)
+        corrupted[corrupted.length - 3] ^= 0x01;
+        assertNull(deserialize(corrupted));
+
+        byte[] otherVersion = bytes.clone();
+        otherVersion[0] = (byte) (otherVersion[0] + 1);
+        assertNull(deserialize(otherVersion));
+    }
+
+    @Test
+    public void compactBytesShortenBaseUuids() {
+        byte[] expected = {
+                2,
+                2, 0x18, 0x0D, 1,
+                2, 0x2A, 0x37, 0x10, 1,
+                2, 0x29, 0x02,
+                16, 0x6E, 0x40, 0x00, 0x01, (byte) 0xB5, (byte) 0xA3, (byte) 0xF3, (byte) 0x93,
+                (byte) 0xE0, (byte) 0xA9, (byte) 0xE5, 0x0E, 0x24, (byte) 0xDC, (byte) 0xCA, (byte) 0x9E, 1,
+                16, 0x6E, 0x40, 0x00, 0x02, (byte) 0xB5, (byte) 0xA3, (byte) 0xF3, (byte) 0x93,
+                (byte) 0xE0, (byte) 0xA9, (byte) 0xE5, 0x0E, 0x24, (byte) 0xDC, (byte) 0xCA, (byte) 0x9E, 0x08, 0
+        };
+        assertArrayEquals(expected, database(0x10).toCompactBytes());
+    }
+}
@@ -0,0 +1,103 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdvertisementFilterTest {
+    private static final UUID BATTERY = UUID.fromString("0000180f-0000-1000-8000-00805f9b34fb");
+    private static final UUID CUSTOM = UUID.fromString("0f0e0d0c-0b0a-0908-0706-050403020100");
+
+    // 이름 "Zentry-01", 제조사 0x0059 + AA BB CC, 배터리 서비스 데이터 0x64
+    private static final byte[] RECORD = {
+            0x02, 0x01, 0x06,
+            0x0A, 0x09, 'Z', 'e', 'n', 't', 'r', 'y', '-', '0', '1',
+            0x06, (byte) 0xFF, 0x59, 0x00, (byte) 0xAA, (byte) 0xBB, (byte) 0xCC,
+            0x04, 0x16, 0x0F, 0x18, 0x64,
+            0x00, 0x00
+    };
+
+    private static AdvertisementFilter manufacturer(int id, byte[] data, byte[] mask) {
+        return new AdvertisementFilter(id, data, mask, null, null, null, null, AdvertisementFilter.NO_RSSI_FLOOR);
+    }
+
+    private static AdvertisementFilter serviceData(UUID uuid, byte[] data, byte[] mask) {
+        return new AdvertisementFilter(AdvertisementFilter.NO_MANUFACTURER, null, null, uuid, data, mask, null, AdvertisementFilter.NO_RSSI_FLOOR);
+    }
+
+    private static AdvertisementFilter name(String prefix) {
+        return new AdvertisementFilter(AdvertisementFilter.NO_MANUFACTURER, null, null, null, null, null, prefix, AdvertisementFilter.NO_RSSI_FLOOR);
+    }
+
+    @Test
+    public void emptyFilterMatchesEverything() {
+        AdvertisementFilter filter = name(null);
+        assertTrue(filter.isValid());
+        assertFalse(filter.hasNamePredicate());
+        assertTrue(filter.matches(RECORD, -100, null));
+        assertTrue(filter.matches(null, -100, null));
+    }
+
+    @Test
+    public void manufacturerIdAndPrefix() {
+        assertTrue(manufacturer(0x0059, null, null).matches(RECORD, -50, null));
+        assertTrue(manufacturer(0x0059, new byte[]{(byte) 0xAA, (byte) 0xBB}, null).matches(RECORD, -50, null));
+        assertFalse(manufacturer(0x0059, new byte[]{(byte) 0xAA, (byte) 0xBC}, null).matches(RECORD, -50, null));
+        assertFalse(manufacturer(0x004C, null, null).matches(RECORD, -50, null));
+        assertFalse(manufacturer(0x0059, new byte[]{(byte) 0xAA, (byte) 0xBB, (byte) 0xCC, 0x00}, null).matches(RECORD, -50, null));
+    }
+
+    @Test
+    public void manufacturerMask() {
+        byte[] mask = {(byte) 0xFF, 0x00, (byte) 0xF0};
+        assertTrue(manufacturer(0x0059, new byte[]{(byte) 0xAA, 0x00, (byte) 0xC5}, mask).matches(RECORD, -50, null));
+        assertFalse(manufacturer(0x0059, new byte[]{(byte) 0xAB, 0x00, (byte) 0xC5}, mask).matches(RECORD, -50, null));
+        assertFalse(manufacturer(0x0059, new byte[]{(byte) 0xAA}, mask).isValid());
+    }
+
+    @Test
+    public void serviceDataBy16BitAnd128BitUuid() {
+        assertTrue(serviceData(BATTERY, new byte[]{0x64}, null).matches(RECORD, -50, null));
+        assertFalse(serviceData(BATTERY, new byte[]{0x63}, null).matches(RECORD, -50, null));
+
+        byte[] record128 = {
+                0x12, 0x21, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 0x42
+        };
+        assertTrue(serviceData(CUSTOM, new byte[]{0x42}, null).matches(record128, -50, null));
+        assertFalse(serviceData(BATTERY, null, null).matches(record128, -50, null));
+    }
+
+    @Test
+    public void namePrefixUsesAdvertisedNameThenFallback() {
+        assertTrue(name("Zentry").hasNamePredicate());
+        assertTrue(name("Zentry").matches(RECORD, -50, null));
+        assertFalse(name("Other").matches(RECORD, -50, "Other device"));
+
+        byte[] noName = {0x02, 0x01, 0x06};
+        assertTrue(name("Zentry").matches(noName, -50, "Zentry-02"));
+        assertFalse(name("Zentry").matches(noName, -50, null));
+    }
+
+    @Test
+    public void rssiFloor() {
+        AdvertisementFilter filter = new AdvertisementFilter(AdvertisementFilter.NO_MANUFACTURER, null, null, null, null, null, null, -70);
+        assertTrue(filter.matches(RECORD, -70, null));
+        assertFalse(filter.matches(RECORD, -71, null));
+        assertFalse(new AdvertisementFilter(AdvertisementFilter.NO_MANUFACTURER, null, null, null, null, null, null, 10).isValid());
+    }
+
+    @Test
+    public void allConditionsMustMatch() {
+        AdvertisementFilter filter = new AdvertisementFilter(0x0059, new byte[]{(byte) 0xAA}, null,
+                BATTERY, new byte[]{0x64}, null, "Zentry", -80);
+        assertTrue(filter.matches(RECORD, -60, null));
+        assertFalse(filter.matches(RECORD, -90, null));
+
+        AdvertisementFilter wrongName = new AdvertisementFilter(0x0059, new byte[]{(byte) 0xAA}, null,
+                BATTERY, new byte[]{0x64}, null, "Other", -80);
+        assertFalse(wrongName.matches(RECORD, -60, null));
+    }
+}
@@ -0,0 +1,122 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import com.zentry.unity_bluetooth_plugin.models.AdvertisingRecord;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class AdvertisingDataParserTest {
+    // flags 0x06, 16비트 서비스 UUID 0x180D/0x180F, 이름 "Hr", 제조사 0x004C + 02 15, TX power -8, 뒤쪽 0 패딩
+    private static final byte[] RECORD = {
+            0x02, 0x01, 0x06,
+            0x05, 0x03, 0x0D, 0x18, 0x0F, 0x18,
+            0x03, 0x09, 'H', 'r',
+            0x05, (byte) 0xFF, 0x4C, 0x00, 0x02, 0x15,
+            0x02, 0x0A, (byte) 0xF8,
+            0x00, 0x00, 0x00
+    };
+
+    @Test
+    public void parseRecordsFieldPositions() {
+        AdvertisingRecord record = new AdvertisingRecord();
+        AdvertisingDataParser.parse(RECORD, record);
+
+        assertSame(RECORD, record.getSource());
+        assertEquals(22, record.getLength());
+        assertEquals(0x06, record.getFlags());
+        assertEquals(-8, record.getTxPower());
+
+        assertEquals(1, record.getServiceUuidFieldCount());
+        assertEquals(5, record.getServiceUuidOffset(0));
+        assertEquals(4, record.getServiceUuidLength(0));
+        assertEquals(2, record.getServiceUuidWidth(0));
+
+        assertEquals(1, record.getManufacturerCount());
+        assertEquals(15, record.getManufacturerOffset(0));
+        assertEquals(4, record.getManufacturerLength(0));
+        assertEquals(0x004C, AdvertisingDataParser.readUInt16(RECORD, record.getManufacturerOffset(0)));
+        assertEquals(0, record.getServiceDataCount());
+    }
+
+    @Test
+    public void parseResetsReusedRecord() {
+        AdvertisingRecord record = new AdvertisingRecord();
+        AdvertisingDataParser.parse(RECORD, record);
+        AdvertisingDataParser.parse(new byte[]{0x02, 0x01, 0x1A}, record);
+
+        assertEquals(0x1A, record.getFlags());
+        assertEquals(AdvertisingRecord.NO_TX_POWER, record.getTxPower());
+        assertEquals(0, record.getServiceUuidFieldCount());
+        assertEquals(0, record.getManufacturerCount());
+    }
+
+    @Test
+    public void parseStopsAtTruncatedStructure() {
+        AdvertisingRecord record = new AdvertisingRecord();
+        AdvertisingDataParser.parse(new byte[]{0x02, 0x01, 0x06, 0x05, (byte) 0xFF, 0x4C}, record);
+        assertEquals(3, record.getLength());
+        assertEquals(0, record.getManufacturerCount());
+
+        AdvertisingDataParser.parse(null, record);
+        assertEquals(0, record.getLength());
+        assertEquals(AdvertisingRecord.NO_FLAGS, record.getFlags());
+    }
+
+    @Test
+    public void parseServiceData() {
+        byte[] data = {
+                0x04, 0x16, 0x0F, 0x18, 0x64,
+                0x12, 0x21, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 0x01
+        };
+        AdvertisingRecord record = new AdvertisingRecord();
+        AdvertisingDataParser.parse(data, record);
+
+        assertEquals(2, record.getServiceDataCount());
+        assertEquals(2, record.getServiceDataOffset(0));
+        assertEquals(3, record.getServiceDataLength(0));
+        assertEquals(2, record.getServiceDataWidth(0));
+        assertEquals(7, record.getServiceDataOffset(1));
+        assertEquals(17, record.getServiceDataLength(1));
+        assertEquals(16, record.getServiceDataWidth(1));
+        assertEquals(0x0706050403020100L, AdvertisingDataParser.readUuidLsb(data, 7));
+        assertEquals(0x0F0E0D0C0B0A0908L, AdvertisingDataParser.readUuidMsb(data, 7));
+    }
+
+    @Test
+    public void nextValueIteratesMatchingStructures() {
+        byte[] data = {0x03, (byte) 0xFF, 0x01, 0x00, 0x02, 0x01, 0x06, 0x03, (byte) 0xFF, 0x02, 0x00};
+
+        int first = AdvertisingDataParser.nextValue(data, AdvertisingDataParser.TYPE_MANUFACTURER_DATA, -1);
+        assertEquals(2, first);
+        assertEquals(2, AdvertisingDataParser.valueLength(data, first));
+        int second = AdvertisingDataParser.nextValue(data, AdvertisingDataParser.TYPE_MANUFACTURER_DATA, first);
+        assertEquals(9, second);
+        assertEquals(2, AdvertisingDataParser.readUInt16(data, second));
+        assertEquals(-1, AdvertisingDataParser.nextValue(data, AdvertisingDataParser.TYPE_MANUFACTURER_DATA, second));
+        assertEquals(-1, AdvertisingDataParser.nextValue(data, AdvertisingDataParser.TYPE_TX_POWER_LEVEL, -1));
+        assertEquals(-1, AdvertisingDataParser.nextValue(null, AdvertisingDataParser.TYPE_FLAGS, -1));
+    }
+
+    @Test
+    public void significantLengthIgnoresPadding() {
+        assertEquals(22, AdvertisingDataParser.significantLength(RECORD));
+        assertEquals(0, AdvertisingDataParser.significantLength(new byte[31]));
+        assertEquals(0, AdvertisingDataParser.significantLength(null));
+    }
+
+    @Test
+    public void shortUuidExpandsToBaseUuid() {
+        UUID heartRate = UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb");
+        assertEquals(heartRate.getMostSignificantBits(), AdvertisingDataParser.shortUuidMsb(0x180D));
+        assertEquals(heartRate.getLeastSignificantBits(), AdvertisingDataParser.BASE_UUID_LSB);
+
+        byte[] data = {0x0D, 0x18, 0x00, 0x00};
+        assertEquals(0x180DL, AdvertisingDataParser.readUInt32(data, 0));
+        data[3] = (byte) 0xFF;
+        assertEquals(0xFF00180DL, AdvertisingDataParser.readUInt32(data, 0));
+    }
+}
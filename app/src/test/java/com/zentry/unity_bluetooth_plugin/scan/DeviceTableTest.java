@@ -0,0 +1,87 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import com.zentry.unity_bluetooth_plugin.models.BLEDevice;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DeviceTableTest {
+    private final DeviceTable table = new DeviceTable();
+    private final List<BLEDevice> evicted = new ArrayList<>();
+
+    private BLEDevice put(String address, long nowMs) {
+        BLEDevice device = new BLEDevice(address, null);
+        table.put(device, nowMs, evicted);
+        return device;
+    }
+
+    @Test
+    public void touchUpdatesLastSeen() {
+        BLEDevice a = put("A", 0);
+        assertSame(a, table.touch("A", 100));
+        assertEquals(100, a.getLastSeenMs());
+        assertNull(table.touch("B", 100));
+    }
+
+    @Test
+    public void capacityEvictsLeastRecentlySeen() {
+        BLEDevice a = put("A", 0);
+        BLEDevice b = put("B", 1);
+        BLEDevice c = put("C", 2);
+        table.touch("A", 3);
+
+        table.setCapacity(2, evicted);
+        assertEquals(Arrays.asList(b), evicted);
+
+        BLEDevice d = put("D", 4);
+        assertEquals(Arrays.asList(b, c), evicted);
+        assertEquals(Arrays.asList(a, d), table.snapshot());
+    }
+
+    @Test
+    public void snapshotIsInRecencyOrder() {
+        BLEDevice a = put("A", 0);
+        BLEDevice b = put("B", 1);
+        BLEDevice c = put("C", 2);
+        table.touch("A", 3);
+
+        assertEquals(Arrays.asList(b, c, a), table.snapshot());
+    }
+
+    @Test
+    public void evictExpiredStopsAtFirstFreshDevice() {
+        BLEDevice a = put("A", 0);
+        BLEDevice b = put("B", 500);
+        BLEDevice c = put("C", 900);
+
+        table.evictExpired(1400, 1000, evicted);
+        assertEquals(Arrays.asList(a), evicted);
+
+        evicted.clear();
+        table.touch("B", 1600);
+        table.evictExpired(2000, 1000, evicted);
+        assertEquals(Arrays.asList(c), evicted);
+        assertEquals(Arrays.asList(b), table.snapshot());
+    }
+
+    @Test
+    public void removeAndClear() {
+        BLEDevice a = put("A", 0);
+        put("B", 0);
+        assertSame(a, table.remove("A"));
+        assertNull(table.remove("A"));
+        assertEquals(1, table.size());
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertTrue(evicted.isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package com.zentry.unity_bluetooth_plugin.scan;
+
+import com.zentry.unity_bluetooth_plugin.models.BLEDevice;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NearestDeviceIndexTest {
+    private final NearestDeviceIndex index = new NearestDeviceIndex();
+    private final BLEDevice a = new BLEDevice("A", null);
+    private final BLEDevice b = new BLEDevice("B", null);
+    private final BLEDevice c = new BLEDevice("C", null);
+
+    @Test
+    public void ranksByRssiDescending() {
+        index.update(a, -80);
+        index.update(b, -40);
+        index.update(c, -60);
+
+        assertArrayEquals(new String[]{"B~-40", "C~-60", "A~-80"}, index.top(3));
+        assertArrayEquals(new String[]{"B~-40"}, index.top(1));
+        assertEquals(0, b.getRankIndex());
+        assertEquals(2, a.getRankIndex());
+    }
+
+    @Test
+    public void smoothsUpdatesWithAlpha() {
+        index.setAlpha(0.5f);
+        index.update(a, -80);
+        index.update(a, -40);
+        assertEquals(-60f, a.getSmoothedRssi(), 0.001f);
+
+        index.update(b, -70);
+        assertArrayEquals(new String[]{"A~-60", "B~-70"}, index.top(5));
+
+        // 한 번의 강한 신호로는 순위가 바로 뒤집히지 않고 평활값 기준으로 이동
+        index.update(b, -30);
+        assertArrayEquals(new String[]{"B~-50", "A~-60"}, index.top(5));
+        assertEquals(0, b.getRankIndex());
+        assertEquals(1, a.getRankIndex());
+    }
+
+    @Test
+    public void removeShiftsFollowingEntries() {
+        index.update(a, -40);
+        index.update(b, -50);
+        index.update(c, -60);
+        index.remove(a);
+
+        assertEquals(-1, a.getRankIndex());
+        assertEquals(0, b.getRankIndex());
+        assertEquals(1, c.getRankIndex());
+        assertArrayEquals(new String[]{"B~-50", "C~-60"}, index.top(3));
+
+        // 색인되지 않은 디바이스 제거는 무시
+        index.remove(a);
+        assertEquals(2, index.top(3).length);
+    }
+
+    @Test
+    public void copyTopAndClear() {
+        index.update(a, -40);
+        index.update(b, -50);
+
+        BLEDevice[] out = new BLEDevice[1];
+        assertEquals(1, index.copyTop(5, out));
+        assertEquals(a, out[0]);
+
+        index.clear();
+        assertEquals(0, index.top(5).length);
+        assertEquals(-1, a.getRankIndex());
+        assertEquals(-1, b.getRankIndex());
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        BLEDevice[] devices = new BLEDevice[100];
+        for (int i = 0; i < devices.length; i++) {
+            devices[i] = new BLEDevice("D" + i, null);
+            index.update(devices[i], -100 + i % 50);
+        }
+
+        String[] top = index.top(100);
+        assertEquals(100, top.length);
+        for (int i = 1; i < top.length; i++) {
+            int previous = Integer.parseInt(top[i - 1].substring(top[i - 1].indexOf('~') + 1));
+            int current = Integer.parseInt(top[i].substring(top[i].indexOf('~') + 1));
+            assertTrue(previous >= current);
+        }
+        for (int i = 0; i < devices.length; i++) {
+            assertEquals(devices[i].getAddress(), top[devices[i].getRankIndex()].substring(0, top[devices[i].getRankIndex()].indexOf('~')));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.zentry.unity_bluetooth_plugin.utils;
+
+import com.zentry.unity_bluetooth_plugin.models.BLEMessage;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// 기대값은 제거된 LegacyMessageConverter(JSON → "~" 문자열) 출력 그대로
+// 변환기는 optString 으로 읽었으므로 null 필드는 빈 문자열, 이름의 "~" 는 이스케이프 없이 통과
+// 변환기 이후 추가된 타입(Lost, Reconnected, WriteStream 등)은 추가 당시 정의한 형식
+public class MessageEncoderTest {
+    private static final String ADDRESS = "AA:BB:CC:DD:EE:FF";
+    private static final String SERVICE = "0000180d-0000-1000-8000-00805f9b34fb";
+    private static final String CHARACTERISTIC = "00002a37-0000-1000-8000-00805f9b34fb";
+
+    @Test
+    public void initialized() {
+        assertEquals("Initialized", MessageEncoder.encodeLegacy(BLEMessage.createInitialized()));
+    }
+
+    @Test
+    public void error() {
+        assertEquals("Error~Bluetooth is disabled", MessageEncoder.encodeLegacy(BLEMessage.createError("Bluetooth is disabled")));
+        assertEquals("Error~", MessageEncoder.encodeLegacy(BLEMessage.createError(null)));
+    }
+
+    @Test
+    public void deviceDiscovered() {
+        byte[] data = {0x02, 0x01, 0x06};
+        assertEquals("DiscoveredPeripheral~" + ADDRESS + "~Sensor~-60~AgEG",
+                MessageEncoder.encodeLegacy(BLEMessage.createDeviceDiscovered(ADDRESS, "Sensor", -60, data)));
+    }
+
+    @Test
+    public void deviceDiscoveredWithNullFields() {
+        assertEquals("DiscoveredPeripheral~" + ADDRESS + "~~-60~",
+                MessageEncoder.encodeLegacy(BLEMessage.createDeviceDiscovered(ADDRESS, null, -60, null)));
+        assertEquals("DiscoveredPeripheral~~~0~",
+                MessageEncoder.encodeLegacy(BLEMessage.createDeviceDiscovered(null, null, 0, new byte[0])));
+    }
+
+    @Test
+    public void deviceDiscoveredWithDelimiterInName() {
+        assertEquals("DiscoveredPeripheral~" + ADDRESS + "~a~b~-42~/w==",
+                MessageEncoder.encodeLegacy(BLEMessage.createDeviceDiscovered(ADDRESS, "a~b", -42, new byte[]{(byte) 0xFF})));
+    }
+
+    @Test
+    public void connection() {
+        assertEquals("ConnectedPeripheral~" + ADDRESS, MessageEncoder.encodeLegacy(BLEMessage.createDeviceConnected(ADDRESS)));
+        assertEquals("DisconnectedPeripheral~" + ADDRESS, MessageEncoder.encodeLegacy(BLEMessage.createDeviceDisconnected(ADDRESS)));
+        assertEquals("ConnectedPeripheral~", MessageEncoder.encodeLegacy(BLEMessage.createDeviceConnected(null)));
+    }
+
+    @Test
+    public void serviceAndCharacteristicDiscovered() {
+        assertEquals("DiscoveredService~" + ADDRESS + "~" + SERVICE,
+                MessageEncoder.encodeLegacy(BLEMessage.createServiceDiscovered(ADDRESS, SERVICE)));
+        assertEquals("DiscoveredCharacteristic~" + ADDRESS + "~" + SERVICE + "~" + CHARACTERISTIC,
+                MessageEncoder.encodeLegacy(BLEMessage.createCharacteristicDiscovered(ADDRESS, SERVICE, CHARACTERISTIC)));
+        assertEquals("DiscoveredCharacteristic~" + ADDRESS + "~~",
+                MessageEncoder.encodeLegacy(BLEMessage.createCharacteristicDiscovered(ADDRESS, null, null)));
+    }
+
+    @Test
+    public void dataReceived() {
+        assertEquals("DidUpdateValueForCharacteristic~" + ADDRESS + "~" + CHARACTERISTIC + "~AQI=",
+                MessageEncoder.encodeLegacy(BLEMessage.createDataReceived(ADDRESS, CHARACTERISTIC, new byte[]{1, 2})));
+        assertEquals("DidUpdateValueForCharacteristic~" + ADDRESS + "~" + CHARACTERISTIC + "~",
+                MessageEncoder.encodeLegacy(BLEMessage.createDataReceived(ADDRESS, CHARACTERISTIC, new byte[0])));
+    }
+
+    @Test
+    public void mtuNotificationStateAndRssi() {
+        assertEquals("MtuChanged~" + ADDRESS + "~247", MessageEncoder.encodeLegacy(BLEMessage.createMtuChanged(ADDRESS, 247)));
+        assertEquals("DidUpdateNotificationStateForCharacteristic~" + ADDRESS + "~" + CHARACTERISTIC,
+                MessageEncoder.encodeLegacy(BLEMessage.createNotificationStateChanged(ADDRESS, CHARACTERISTIC)));
+        assertEquals("DidReadRSSI~" + ADDRESS + "~-71", MessageEncoder.encodeLegacy(BLEMessage.createRssiRead(ADDRESS, -71)));
+    }
+
+    @Test
+    public void lifecycleAfterConverter() {
+        assertEquals("LostPeripheral~" + ADDRESS, MessageEncoder.encodeLegacy(BLEMessage.createDeviceLost(ADDRESS)));
+        assertEquals("ReconnectedPeripheral~" + ADDRESS + "~1500", MessageEncoder.encodeLegacy(BLEMessage.createDeviceReconnected(ADDRESS, 1500)));
+        assertEquals("ServicesReady~" + ADDRESS, MessageEncoder.encodeLegacy(BLEMessage.createServicesReady(ADDRESS)));
+        assertEquals("GattTable~" + ADDRESS + "~AQI=", MessageEncoder.encodeLegacy(BLEMessage.createGattTable(ADDRESS, new byte[]{1, 2})));
+        assertEquals("GattTable~" + ADDRESS + "~", MessageEncoder.encodeLegacy(BLEMessage.createGattTable(ADDRESS, new byte[0])));
+    }
+
+    @Test
+    public void writeStream() {
+        assertEquals("WriteStreamProgress~" + ADDRESS + "~" + CHARACTERISTIC + "~100~400~2000",
+                MessageEncoder.encodeLegacy(BLEMessage.createWriteStreamProgress(ADDRESS, CHARACTERISTIC, 100, 400, 2000)));
+        assertEquals("WriteStreamCompleted~" + ADDRESS + "~" + CHARACTERISTIC + "~400~400~2000~",
+                MessageEncoder.encodeLegacy(BLEMessage.createWriteStreamCompleted(ADDRESS, CHARACTERISTIC, 400, 400, 2000, null)));
+        assertEquals("WriteStreamCompleted~" + ADDRESS + "~" + CHARACTERISTIC + "~100~400~0~Write failed: 133",
+                MessageEncoder.encodeLegacy(BLEMessage.createWriteStreamCompleted(ADDRESS, CHARACTERISTIC, 100, 400, 0, "Write failed: 133")));
+    }
+
+    @Test
+    public void deviceLists() {
+        String[] addresses = {"11:11:11:11:11:11", "22:22:22:22:22:22", "unused"};
+        int[] rssis = {-40, -80, 0};
+        byte[][] data = {{0x02, 0x01, 0x06}, null, null};
+
+        assertEquals("DevicesUpdated~11:11:11:11:11:11~-40~AgEG~22:22:22:22:22:22~-80~",
+                MessageEncoder.encodeLegacy(BLEMessage.createDevicesUpdated(addresses, rssis, data, 2)));
+        assertEquals("NearestDevicesChanged~11:11:11:11:11:11~-40~22:22:22:22:22:22~-80",
+                MessageEncoder.encodeLegacy(BLEMessage.createNearestDevicesChanged(addresses, rssis, 2)));
+        assertEquals("DevicesUpdated", MessageEncoder.encodeLegacy(BLEMessage.createDevicesUpdated(addresses, rssis, data, 0)));
+    }
+
+    @Test
+    public void everyTypeHasLegacyFormat() throws IllegalAccessException {
+        Set<String> covered = new HashSet<>();
+        BLEMessage[] samples = {
+                BLEMessage.createInitialized(),
+                BLEMessage.createError(null),
+                BLEMessage.createDeviceDiscovered(ADDRESS, null, 0, null),
+                BLEMessage.createDeviceConnected(ADDRESS),
+                BLEMessage.createDeviceDisconnected(ADDRESS),
+                BLEMessage.createDeviceLost(ADDRESS),
+                BLEMessage.createDeviceReconnected(ADDRESS, 0),
+                BLEMessage.createServicesReady(ADDRESS),
+                BLEMessage.createGattTable(ADDRESS, new byte[0]),
+                BLEMessage.createServiceDiscovered(ADDRESS, SERVICE),
+                BLEMessage.createCharacteristicDiscovered(ADDRESS, SERVICE, CHARACTERISTIC),
+                BLEMessage.createDataReceived(ADDRESS, CHARACTERISTIC, new byte[0]),
+                BLEMessage.createMtuChanged(ADDRESS, 23),
+                BLEMessage.createNotificationStateChanged(ADDRESS, CHARACTERISTIC),
+                BLEMessage.createRssiRead(ADDRESS, 0),
+                BLEMessage.createWriteStreamProgress(ADDRESS, CHARACTERISTIC, 0, 0, 0),
+                BLEMessage.createWriteStreamCompleted(ADDRESS, CHARACTERISTIC, 0, 0, 0, null),
+                BLEMessage.createDevicesUpdated(new String[0], new int[0], new byte[0][], 0),
+                BLEMessage.createNearestDevicesChanged(new String[0], new int[0], 0)
+        };
+        for (BLEMessage message : samples) {
+            assertTrue(message.getType(), MessageEncoder.appendLegacy(new StringBuilder(), message));
+            covered.add(message.getType());
+        }
+
+        for (Field field : BLEMessage.class.getFields()) {
+            if (field.getName().startsWith("TYPE_") && Modifier.isStatic(field.getModifiers())) {
+                assertTrue("no sample for " + field.getName(), covered.contains((String) field.get(null)));
+            }
+        }
+    }
+
+    @Test
+    public void jsonEscapesAndOmitsNullFields() {
+        assertEquals("{\"type\":\"OnDeviceDiscovered\",\"address\":\"" + ADDRESS + "\",\"name\":\"a\\\"b~c\",\"rssi\":-60,\"data\":\"\"}",
+                MessageEncoder.encodeJson(BLEMessage.createDeviceDiscovered(ADDRESS, "a\"b~c", -60, new byte[0])));
+        assertEquals("{\"type\":\"OnError\"}", MessageEncoder.encodeJson(BLEMessage.createError(null)));
+    }
+
+    @Test
+    public void base64MatchesAllPaddingLengths() {
+        byte[] data = new byte[7];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (0xF0 + i * 3);
+        }
+        for (int length = 0; length <= data.length; length++) {
+            byte[] slice = Arrays.copyOf(data, length);
+            StringBuilder sb = new StringBuilder();
+            MessageEncoder.appendBase64(sb, slice);
+            assertEquals(Base64.getEncoder().encodeToString(slice), sb.toString());
+        }
+    }
+}